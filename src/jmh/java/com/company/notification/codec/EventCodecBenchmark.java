@@ -0,0 +1,87 @@
+package com.company.notification.codec;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.Priority;
+import com.company.notification.event.TaskEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventCodec against Java serialization of the same fields. The events themselves are not
+ * Serializable, so the baseline serializes an equivalent record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventCodecBenchmark {
+
+    record SerializableTask(String taskName, String taskDescription, String sourcePublisherId,
+                            Priority priority, LocalDateTime timeStamp) implements Serializable {
+    }
+
+    private final EventCodec codec = new EventCodec(new PublisherDictionary());
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+    private TaskEvent event;
+    private SerializableTask serializable;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        event = new TaskEvent("Nightly build", "Compile and test every module", "pub-3f9c2a71", Priority.HIGH);
+        serializable = new SerializableTask(event.getTaskName(), event.getTaskDescription(),
+                event.getSourcePublisherId(), event.getPriority(), event.getTimeStamp());
+        serialized = javaSerialize();
+        buffer.clear();
+        codec.encode(event, buffer);
+        System.out.println("\nEncoded size: codec " + buffer.position() + " bytes, Java serialization " + serialized.length + " bytes");
+    }
+
+    @Benchmark
+    public int codecEncode() {
+        buffer.clear();
+        codec.encode(event, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public Event codecRoundTrip() {
+        buffer.clear();
+        codec.encode(event, buffer);
+        buffer.flip();
+        return codec.decode(buffer);
+    }
+
+    @Benchmark
+    public byte[] javaSerializationEncode() throws IOException {
+        return javaSerialize();
+    }
+
+    @Benchmark
+    public Object javaSerializationRoundTrip() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaSerialize()))) {
+            return in.readObject();
+        }
+    }
+
+    private byte[] javaSerialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(serializable);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,8 +1,15 @@
 package com.company.notification;
 
 import com.company.notification.core.EventBus;
+import com.company.notification.core.EventDispatcher;
 import com.company.notification.core.EventHistory;
+import com.company.notification.core.HistoryWriter;
+import com.company.notification.core.MappedHistoryStore;
+import com.company.notification.core.RingBufferHistoryStore;
+import com.company.notification.core.RingBufferPipeline;
 import com.company.notification.core.SchedulerManager;
+import com.company.notification.core.TieredHistoryStore;
+import com.company.notification.filters.AlwaysTrueFilter;
 import com.company.notification.menu.AdminMenu;
 import com.company.notification.menu.PublisherMenu;
 import com.company.notification.menu.SubscriberMenu;
@@ -12,6 +19,8 @@ import com.company.notification.model.subscriber.AdminSubscriber;
 import com.company.notification.model.subscriber.Subscriber;
 import com.company.notification.model.subscriber.UserSubscriber;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
@@ -33,8 +42,18 @@ public class Main {
 
 
         Scanner scanner = new Scanner(System.in);
-        EventHistory eventHistory = new EventHistory();
-        EventBus eventBus = new EventBus(eventHistory);
+        EventHistory eventHistory = createEventHistory();
+        // -Devent.history.fsync=true forces the journal to disk after every written batch
+        HistoryWriter historyWriter = new HistoryWriter(eventHistory, HistoryWriter.DEFAULT_CAPACITY,
+                HistoryWriter.DEFAULT_MAX_BATCH_SIZE, Boolean.getBoolean("event.history.fsync"));
+        EventBus eventBus = new EventBus(eventHistory, EventDispatcher.synchronous(), historyWriter);
+        // -Devent.pipeline.size=N (a power of two) runs publishes through a ring-buffer pipeline of N slots
+        int pipelineSize = Integer.getInteger("event.pipeline.size", 0);
+        if (pipelineSize > 0) {
+            RingBufferPipeline pipeline = new RingBufferPipeline(eventBus, pipelineSize);
+            pipeline.start();
+            eventBus.setPipeline(pipeline);
+        }
         SchedulerManager schedulerManager = new SchedulerManager(eventBus);
 
 
@@ -73,7 +92,7 @@ public class Main {
                         System.out.println("Subscriber name cannot be empty.");
                         break;
                     }
-                    Subscriber subscriber = subscriberMap.computeIfAbsent(name, n -> new UserSubscriber(n, event -> true));
+                    Subscriber subscriber = subscriberMap.computeIfAbsent(name, n -> new UserSubscriber(n, new AlwaysTrueFilter()));
                     new SubscriberMenu(eventBus, subscriber, scanner).display();
                 }
 
@@ -85,7 +104,7 @@ public class Main {
                         break;
                     }
                     AdminSubscriber admin = adminMap.computeIfAbsent(name, n -> {
-                        AdminSubscriber a = new AdminSubscriber(n, event -> true);
+                        AdminSubscriber a = new AdminSubscriber(n, new AlwaysTrueFilter());
                         eventBus.registerAdminSubscriber(a, a.getFilter());
                         return a;
                     });
@@ -93,6 +112,8 @@ public class Main {
                 }
                 case "4" -> {
                     schedulerManager.shutdownAllSchedulers();
+                    eventBus.shutdown();
+                    eventHistory.close();
                     System.out.println("Exiting system. Goodbye.");
                     return;
                 }
@@ -102,6 +123,45 @@ public class Main {
 
     }
 
+    // Journals history to disk when -Devent.history.dir is set, keeps the last hour in memory and
+    // older events compressed in -Devent.history.cold.dir when that is set, keeps the latest
+    // -Devent.history.capacity events when that is set, otherwise keeps everything in memory
+    private static EventHistory createEventHistory() {
+        String journalDir = System.getProperty("event.history.dir");
+        if (journalDir == null || journalDir.isBlank()) {
+            return createTieredHistory();
+        }
+        try {
+            return new EventHistory(MappedHistoryStore.open(Path.of(journalDir)));
+        } catch (IOException e) {
+            logger.error("Could not open history journal in {}, keeping history in memory", journalDir, e);
+            return createInMemoryHistory();
+        }
+    }
 
+    private static EventHistory createTieredHistory() {
+        String coldDir = System.getProperty("event.history.cold.dir");
+        if (coldDir == null || coldDir.isBlank()) {
+            return createInMemoryHistory();
+        }
+        try {
+            return new EventHistory(TieredHistoryStore.open(Path.of(coldDir)));
+        } catch (IOException e) {
+            logger.error("Could not open cold history in {}, keeping history in memory", coldDir, e);
+            return createInMemoryHistory();
+        }
+    }
 
-}
\ No newline at end of file
+    private static EventHistory createInMemoryHistory() {
+        String capacity = System.getProperty("event.history.capacity");
+        if (capacity == null || capacity.isBlank()) {
+            return new EventHistory();
+        }
+        try {
+            return new EventHistory(new RingBufferHistoryStore(Integer.parseInt(capacity.trim())));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid history capacity {}, keeping unbounded history", capacity, e);
+            return new EventHistory();
+        }
+    }
+}
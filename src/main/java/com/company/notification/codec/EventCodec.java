@@ -0,0 +1,252 @@
+package com.company.notification.codec;
+
+import com.company.notification.event.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary format for the {@link Event} implementations, written into and read from a
+ * {@link ByteBuffer} in place. Layout of one event:
+ * <pre>
+ *   byte    format version
+ *   byte    event type tag (EventTypes ordinal)
+ *   varint  body length
+ *   body:   byte priority, long event time (epoch nanos, UTC), varint publisher code,
+ *           then the type's strings as varint UTF-8 length + bytes
+ * </pre>
+ * The body length lets a decoder skip fields appended by a later format version. Publisher ids
+ * are coded through a shared {@link PublisherDictionary}. The codec itself is stateless and
+ * thread-safe.
+ */
+public final class EventCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private final PublisherDictionary dictionary;
+
+    public EventCodec(PublisherDictionary dictionary) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Dictionary cannot be null");
+        }
+        this.dictionary = dictionary;
+    }
+
+    public PublisherDictionary getDictionary() {
+        return dictionary;
+    }
+
+    // Throws BufferOverflowException if the event does not fit in the remaining space
+    public void encode(Event event, ByteBuffer out) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        String first;
+        String second;
+        String publisherId;
+        if (event instanceof TaskEvent task) {
+            first = task.getTaskName();
+            second = task.getTaskDescription();
+            publisherId = task.getSourcePublisherId();
+        } else if (event instanceof PriorityEvent priorityEvent) {
+            first = priorityEvent.getTaskName();
+            second = priorityEvent.getTaskDescription();
+            publisherId = priorityEvent.getSourcePublisherId();
+        } else if (event instanceof HeartBeatEvent heartbeat) {
+            first = heartbeat.getTaskName();
+            second = heartbeat.getTaskDescription();
+            publisherId = heartbeat.getPublisherId();
+        } else {
+            throw new IllegalArgumentException("Unsupported event implementation: " + event.getClass().getName());
+        }
+        int publisherCode = dictionary.codeOf(publisherId);
+        int bodyLength = 1 + Long.BYTES + varIntSize(publisherCode) + nullableStringSize(first) + stringSize(second);
+
+        out.put(FORMAT_VERSION);
+        out.put((byte) event.getType().ordinal());
+        writeVarInt(out, bodyLength);
+        out.put((byte) event.getPriority().ordinal());
+        out.putLong(epochNanos(event.getDateTime()));
+        writeVarInt(out, publisherCode);
+        writeNullableString(out, first);
+        writeString(out, second);
+    }
+
+    public Event decode(ByteBuffer in) {
+        byte version = in.get();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported event format version: " + version);
+        }
+        EventTypes type = EventTypes.values()[in.get()];
+        int bodyLength = readVarInt(in);
+        int bodyEnd = in.position() + bodyLength;
+
+        Priority priority = Priority.values()[in.get()];
+        LocalDateTime dateTime = fromEpochNanos(in.getLong());
+        String publisherId = dictionary.entry(readVarInt(in));
+        String first = readNullableString(in);
+        String second = readString(in);
+        in.position(bodyEnd);
+
+        return switch (type) {
+            case TASK -> new TaskEvent(first, second, publisherId, priority, dateTime);
+            case PRIORITY -> new PriorityEvent(first, priority, second, publisherId, dateTime);
+            case HEARTBEAT -> new HeartBeatEvent(publisherId, priority, first, second, dateTime);
+        };
+    }
+
+    // Event times are zone-less LocalDateTimes; they are stored as if they were UTC
+    static long epochNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    static LocalDateTime fromEpochNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    // Unsigned LEB128: seven bits per byte, high bit set on all but the last byte
+
+    public static void writeVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    public static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // Reads the varint at an absolute index without moving the buffer's position
+    public static int readVarInt(ByteBuffer in, int index) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get(index++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    public static void writeString(ByteBuffer out, String value) {
+        writeVarInt(out, utf8Length(value));
+        writeUtf8(out, value);
+    }
+
+    public static String readString(ByteBuffer in) {
+        return readUtf8(in, readVarInt(in));
+    }
+
+    public static int stringSize(String value) {
+        int length = utf8Length(value);
+        return varIntSize(length) + length;
+    }
+
+    // Nullable strings carry their length + 1, so 0 marks null
+    private static void writeNullableString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        writeVarInt(out, utf8Length(value) + 1);
+        writeUtf8(out, value);
+    }
+
+    private static String readNullableString(ByteBuffer in) {
+        int lengthPlusOne = readVarInt(in);
+        return lengthPlusOne == 0 ? null : readUtf8(in, lengthPlusOne - 1);
+    }
+
+    private static int nullableStringSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = utf8Length(value);
+        return varIntSize(length + 1) + length;
+    }
+
+    // Encodes UTF-8 straight into the buffer instead of going through String.getBytes
+    private static void writeUtf8(ByteBuffer out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (cp >> 18)));
+                out.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?'); // unpaired surrogate, as String.getBytes does
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    // Heap buffers are decoded in place; direct and mapped ones go through a per-thread scratch array
+    private static String readUtf8(ByteBuffer in, int length) {
+        if (in.hasArray()) {
+            int offset = in.arrayOffset() + in.position();
+            in.position(in.position() + length);
+            return new String(in.array(), offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            SCRATCH.set(scratch);
+        }
+        in.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,63 @@
+package com.company.notification.codec;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only mapping between publisher ids (and other short, highly repetitive strings such as
+ * publisher names) and dense int codes. An encoder and the decoder that reads its output must
+ * share the dictionary, or the decoder's copy must be rebuilt from {@link #entry(int)} in code order.
+ */
+public final class PublisherDictionary {
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] entries = new String[16];
+    private volatile int size;
+
+    // Returns the code of value, assigning the next free code the first time it is seen
+    public int codeOf(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Dictionary value cannot be null");
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            int next = size;
+            String[] current = entries;
+            if (next == current.length) {
+                current = Arrays.copyOf(current, next * 2);
+            }
+            current[next] = value;
+            entries = current;
+            size = next + 1;
+            codes.put(value, next);
+            return next;
+        }
+    }
+
+    // -1 when the value has no code yet
+    public int lookup(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    public String entry(int code) {
+        int known = size;
+        String[] current = entries;
+        if (code < 0 || code >= known) {
+            throw new IllegalArgumentException("Unknown dictionary code: " + code);
+        }
+        return current[code];
+    }
+
+    public int size() {
+        return size;
+    }
+}
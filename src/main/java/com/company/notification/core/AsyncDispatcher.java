@@ -0,0 +1,154 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.filters.EventFilter;
+import com.company.notification.model.subscriber.Subscriber;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Dispatcher that only hands events off to bounded per-subscriber mailboxes on the publishing
+ * thread. A fixed pool of dispatcher threads drains the mailboxes, runs the filters and calls
+ * {@link Subscriber#enqueue(Event)}. Each mailbox is drained by at most one thread at a time,
+ * so a subscriber still sees its events in publish order.
+ * <p>
+ * Mailboxes are created on {@link #register}. Unregistering closes the mailbox: it rejects
+ * events from stale routes but is drained to the end before it is removed, and a subscriber
+ * registered again before then reopens it. A subscriber therefore never has two mailboxes
+ * draining at once, and a stale route cannot bring back a mailbox that nothing would remove.
+ */
+public class AsyncDispatcher implements EventDispatcher {
+
+    public static final int DEFAULT_MAILBOX_CAPACITY = 1024;
+    private static final int MAX_DRAIN_BATCH = 64;
+
+    private static final Logger logger = Logger.getLogger(AsyncDispatcher.class.getName());
+
+    private final Map<Subscriber, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final int mailboxCapacity;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    public AsyncDispatcher(int workerThreads) {
+        this(workerThreads, DEFAULT_MAILBOX_CAPACITY);
+    }
+
+    public AsyncDispatcher(int workerThreads, int mailboxCapacity) {
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("Worker threads must be greater than 0");
+        }
+        if (mailboxCapacity <= 0) {
+            throw new IllegalArgumentException("Mailbox capacity must be greater than 0");
+        }
+        this.mailboxCapacity = mailboxCapacity;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            t.setName("EventDispatcher-" + threadIndex.incrementAndGet());
+            return t;
+        });
+    }
+
+    @Override
+    public void dispatch(Subscriber subscriber, EventFilter filter, Event event) {
+        Mailbox mailbox = mailboxes.get(subscriber);
+        if (mailbox == null) {
+            return; // not registered (any more): the route that sent this is stale
+        }
+        if (mailbox.offer(filter, event)) {
+            schedule(mailbox);
+        } else if (mailbox.isClosed()) {
+            removeIfRetired(mailbox); // a stale route; the drain pass may already have finished
+        } else {
+            droppedEvents.incrementAndGet(); // the mailbox logs drops at a bounded rate
+        }
+    }
+
+    @Override
+    public void register(Subscriber subscriber) {
+        mailboxes.compute(subscriber, (s, mailbox) -> {
+            if (mailbox == null) {
+                return new Mailbox(s, mailboxCapacity, Subscriber::enqueue);
+            }
+            mailbox.reopen();
+            return mailbox;
+        });
+    }
+
+    @Override
+    public void unregister(Subscriber subscriber) {
+        Mailbox mailbox = mailboxes.get(subscriber);
+        if (mailbox != null) {
+            mailbox.close();
+            schedule(mailbox); // the drain pass removes it once it is empty
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Async dispatcher shut down");
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public long getDroppedEventCount(Subscriber subscriber) {
+        Mailbox mailbox = mailboxes.get(subscriber);
+        return mailbox == null ? 0 : mailbox.droppedCount();
+    }
+
+    public int getPendingEventCount(Subscriber subscriber) {
+        Mailbox mailbox = mailboxes.get(subscriber);
+        return mailbox == null ? 0 : mailbox.size();
+    }
+
+    private void schedule(Mailbox mailbox) {
+        if (!mailbox.tryMarkScheduled()) {
+            return; // already queued or being drained; the drainer re-checks before leaving
+        }
+        try {
+            workers.execute(() -> drain(mailbox));
+        } catch (RejectedExecutionException e) {
+            mailbox.clearScheduled();
+            logger.warning("Dispatcher is shut down. Pending events for " + mailbox.subscriber().getName() + " were not delivered.");
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        int processed = 0;
+        // Bounded batches keep one busy subscriber from monopolising a worker
+        while (processed < MAX_DRAIN_BATCH && mailbox.deliverNext()) {
+            processed++;
+        }
+        mailbox.clearScheduled();
+        if (mailbox.isRetired()) {
+            removeIfRetired(mailbox);
+        } else if (!mailbox.isEmpty()) {
+            schedule(mailbox);
+        }
+    }
+
+    // Atomic with register(), so a mailbox is either reopened or removed, never both
+    private void removeIfRetired(Mailbox mailbox) {
+        mailboxes.computeIfPresent(mailbox.subscriber(), (s, current) -> current == mailbox && mailbox.isRetired() ? null : current);
+    }
+}
@@ -0,0 +1,259 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.model.publisher.Publisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Holds events until their release time. Events are indexed by release slot (release time
+ * rounded up to the resolution), so the index grows with the number of distinct slots rather
+ * than doing per-event timer work, and each pending event costs one small handle. One timing
+ * wheel entry drains the due slots every resolution and hands the events to the sink in
+ * publish-order batches. Events are never released early and at most one resolution late.
+ * <p>
+ * Cancelling is O(1) in the size of the slot: the handle is only flagged, and the release pass
+ * skips it. Each slot counts its cancelled handles and is dropped as soon as all of them are
+ * cancelled, so mass-cancelled events do not stay referenced until their release time.
+ * <p>
+ * Unless given a wheel, the index runs on one it owns, so a large release pass never holds up
+ * heartbeats on {@link TimingWheel#shared()}.
+ */
+public final class DelayIndex implements AutoCloseable {
+
+    public static final Duration DEFAULT_RESOLUTION = Duration.ofMillis(10);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+    private static final Logger logger = Logger.getLogger(DelayIndex.class.getName());
+    private static final AtomicIntegerFieldUpdater<Pending> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Pending.class, "state");
+
+    private final long resolutionMillis;
+    private final int maxBatchSize;
+    private final BiConsumer<List<Publisher>, List<Event>> sink;
+    // Guarded by itself; slot -> handles in the order they were added
+    private final NavigableMap<Long, Slot> slots = new TreeMap<>();
+    // Guarded by slots
+    private boolean closed;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong released = new AtomicLong();
+    private final TimingWheel.Timeout drain;
+    // Shut down on close; null when the wheel was passed in
+    private final TimingWheel ownWheel;
+
+    public DelayIndex(BiConsumer<List<Publisher>, List<Event>> sink) {
+        // The sink is checked before the wheel starts its threads
+        this(checkedSink(sink), new TimingWheel(TimingWheel.DEFAULT_TICK, TimingWheel.DEFAULT_WHEEL_SIZE, 1),
+                DEFAULT_RESOLUTION, DEFAULT_MAX_BATCH_SIZE, true);
+    }
+
+    // The sink receives parallel lists: events.get(i) was published by publishers.get(i)
+    public DelayIndex(BiConsumer<List<Publisher>, List<Event>> sink, TimingWheel wheel, Duration resolution, int maxBatchSize) {
+        this(sink, wheel, resolution, maxBatchSize, false);
+    }
+
+    private DelayIndex(BiConsumer<List<Publisher>, List<Event>> sink, TimingWheel wheel, Duration resolution,
+                       int maxBatchSize, boolean ownsWheel) {
+        if (sink == null || wheel == null) {
+            throw new IllegalArgumentException("Sink and timing wheel cannot be null");
+        }
+        if (resolution == null || resolution.toMillis() <= 0) {
+            throw new IllegalArgumentException("Resolution must be at least 1 ms");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be greater than 0");
+        }
+        this.sink = sink;
+        this.resolutionMillis = resolution.toMillis();
+        this.maxBatchSize = maxBatchSize;
+        this.ownWheel = ownsWheel ? wheel : null;
+        this.drain = wheel.scheduleAtFixedRate(this::releaseDue, resolution, resolution, TimingWheel.CatchUpPolicy.COALESCE);
+    }
+
+    private static BiConsumer<List<Publisher>, List<Event>> checkedSink(BiConsumer<List<Publisher>, List<Event>> sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink and timing wheel cannot be null");
+        }
+        return sink;
+    }
+
+    public Pending add(Publisher publisher, Event event, Instant releaseAt) {
+        if (publisher == null) throw new IllegalArgumentException("Publisher cannot be null");
+        if (event == null) throw new IllegalArgumentException("Event cannot be null");
+        if (releaseAt == null) throw new IllegalArgumentException("Release time cannot be null");
+        long releaseMillis;
+        try {
+            releaseMillis = releaseAt.toEpochMilli();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Release time is out of range: " + releaseAt);
+        }
+        long key = -Math.floorDiv(-releaseMillis, resolutionMillis);
+        synchronized (slots) {
+            if (closed) {
+                throw new IllegalStateException("Delay index is closed");
+            }
+            Slot slot = slots.computeIfAbsent(key, Slot::new);
+            Pending handle = new Pending(publisher, event, releaseAt, slot);
+            slot.handles.add(handle);
+            pending.incrementAndGet();
+            return handle;
+        }
+    }
+
+    // Runs on the wheel; due slots are detached under the lock and published outside it
+    private void releaseDue() {
+        long nowSlot = Math.floorDiv(System.currentTimeMillis(), resolutionMillis);
+        List<List<Pending>> due = new ArrayList<>();
+        synchronized (slots) {
+            Map.Entry<Long, Slot> first;
+            while ((first = slots.firstEntry()) != null && first.getKey() <= nowSlot) {
+                due.add(slots.pollFirstEntry().getValue().handles);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Publisher> publishers = new ArrayList<>(maxBatchSize);
+        List<Event> events = new ArrayList<>(maxBatchSize);
+        for (List<Pending> slot : due) {
+            for (Pending handle : slot) {
+                if (!STATE.compareAndSet(handle, Pending.WAITING, Pending.RELEASED)) {
+                    continue; // cancelled
+                }
+                pending.decrementAndGet();
+                publishers.add(handle.publisher);
+                events.add(handle.event);
+                if (events.size() == maxBatchSize) {
+                    publish(publishers, events);
+                    publishers = new ArrayList<>(maxBatchSize);
+                    events = new ArrayList<>(maxBatchSize);
+                }
+            }
+        }
+        if (!events.isEmpty()) {
+            publish(publishers, events);
+        }
+    }
+
+    private void publish(List<Publisher> publishers, List<Event> events) {
+        try {
+            sink.accept(publishers, events);
+            released.addAndGet(events.size());
+        } catch (RuntimeException e) {
+            logger.warning("Failed to release " + events.size() + " delayed events: " + e.getMessage());
+        }
+    }
+
+    // Events waiting for their release time, not counting cancelled ones
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    public long getReleasedCount() {
+        return released.get();
+    }
+
+    // Distinct release slots still holding handles
+    int getSlotCount() {
+        synchronized (slots) {
+            return slots.size();
+        }
+    }
+
+    // Stops releasing; events still pending are dropped
+    @Override
+    public void close() {
+        drain.cancel();
+        synchronized (slots) {
+            closed = true;
+            for (Slot slot : slots.values()) {
+                slot.handles.forEach(Pending::markCancelled);
+            }
+            slots.clear();
+        }
+        if (ownWheel != null) {
+            ownWheel.shutdown();
+        }
+    }
+
+    // Handles in the order they were added; fields guarded by slots
+    private static final class Slot {
+        private final long key;
+        private final List<Pending> handles = new ArrayList<>();
+        private int cancelled;
+
+        private Slot(long key) {
+            this.key = key;
+        }
+    }
+
+    /** Handle to an event waiting in the index. */
+    public final class Pending {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int RELEASED = 2;
+
+        private final Publisher publisher;
+        private final Event event;
+        private final Instant releaseAt;
+        private final Slot slot;
+        // Updated through STATE, which keeps handles small when millions are pending
+        volatile int state;
+
+        private Pending(Publisher publisher, Event event, Instant releaseAt, Slot slot) {
+            this.publisher = publisher;
+            this.event = event;
+            this.releaseAt = releaseAt;
+            this.slot = slot;
+        }
+
+        // Returns false if the event was already released or cancelled
+        public boolean cancel() {
+            if (!markCancelled()) {
+                return false;
+            }
+            // A slot already detached for release just skips the handle; a later slot may reuse its key
+            synchronized (slots) {
+                if (slots.get(slot.key) == slot && ++slot.cancelled == slot.handles.size()) {
+                    slots.remove(slot.key);
+                }
+            }
+            return true;
+        }
+
+        private boolean markCancelled() {
+            if (!STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isReleased() {
+            return state == RELEASED;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public Instant getReleaseAt() {
+            return releaseAt;
+        }
+    }
+}
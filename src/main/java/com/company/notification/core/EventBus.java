@@ -1,33 +1,69 @@
 package com.company.notification.core;
 
 import com.company.notification.event.Event;
+import com.company.notification.filters.AlwaysTrueFilter;
 import com.company.notification.filters.EventFilter;
+import com.company.notification.filters.FilterCompiler;
 import com.company.notification.model.publisher.Publisher;
 import com.company.notification.model.subscriber.AdminSubscriber;
 import com.company.notification.model.subscriber.Subscriber;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Logger;
 
 public class EventBus {
 
     private static final Logger logger = Logger.getLogger(EventBus.class.getName());
+    private static final EventFilter ACCEPT_ALL = new AlwaysTrueFilter();
 
     private final Map<Publisher, Set<Subscriber>> publisherSubscriberMap = new ConcurrentHashMap<>();
     private final Map<Subscriber, Set<Publisher>> subscriberPublisherMap = new ConcurrentHashMap<>();
-    private final Map<Subscriber, AtomicReference<EventFilter>> subscriberFilterMap = new ConcurrentHashMap<>();
+    private final Map<Subscriber, EventFilter> subscriberFilterMap = new ConcurrentHashMap<>();
     private final Set<Subscriber> adminSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Subscriber, Set<String>> subscriberTopicMap = new ConcurrentHashMap<>();
+    private final TopicTrie topicTrie = new TopicTrie();
+
+    // Rebuilt under routingLock on every subscription change; read without locking on publish
+    private final Object routingLock = new Object();
+    private volatile RoutingTable routingTable = RoutingTable.EMPTY;
+    // Guarded by routingLock: every publisher seen, and those that currently have a subscriber
+    private final Set<Publisher> knownPublishers = new HashSet<>();
+    private final Set<Publisher> livePublishers = new HashSet<>();
+    private final List<SubscriptionListener> subscriptionListeners = new CopyOnWriteArrayList<>();
 
     private final AdminSubscriber dummyAdmin;
     private final EventHistory eventHistory;
+    // When set, history is appended on the writer's thread instead of the publishing one
+    private final HistoryWriter historyWriter;
+    private final EventDispatcher dispatcher;
+    // Created on the first publishAt, so buses that never delay events take no wheel entry
+    private volatile DelayIndex delayIndex;
+    // Guarded by this; stops publishAt from creating a new delay index after shutdown
+    private boolean delayClosed;
+    // Opt-in: when set, single publishes are handed to the pipeline's stage threads
+    private volatile RingBufferPipeline pipeline;
 
     public EventBus(EventHistory eventHistory) {
+        this(eventHistory, EventDispatcher.synchronous());
+    }
+
+    public EventBus(EventHistory eventHistory, EventDispatcher dispatcher) {
+        this(eventHistory, dispatcher, null);
+    }
+
+    public EventBus(EventHistory eventHistory, EventDispatcher dispatcher, HistoryWriter historyWriter) {
+        if (dispatcher == null) throw new IllegalArgumentException("Dispatcher cannot be null");
         this.eventHistory = eventHistory;
-        this.dummyAdmin = new AdminSubscriber("DummyAdmin", event -> true); // Accept all events
+        this.historyWriter = historyWriter;
+        this.dispatcher = dispatcher;
+        this.dummyAdmin = new AdminSubscriber("DummyAdmin", new AlwaysTrueFilter()); // Accept all events
         adminSubscribers.add(dummyAdmin);
-        subscriberFilterMap.put(dummyAdmin, new AtomicReference<>(dummyAdmin.getFilter()));
+        subscriberFilterMap.put(dummyAdmin, dummyAdmin.getFilter());
+        dispatcher.register(dummyAdmin);
+        rebuildRoutingTable();
         logger.info("SystemAdmin (DummyAdmin) registered.");
     }
 
@@ -37,15 +73,25 @@ public class EventBus {
 
     public void registerPublisher(Publisher publisher) {
         if (publisher == null) throw new IllegalArgumentException("Publisher cannot be null");
-        publisherSubscriberMap.putIfAbsent(publisher, ConcurrentHashMap.newKeySet());
+        synchronized (routingLock) {
+            publisherSubscriberMap.putIfAbsent(publisher, ConcurrentHashMap.newKeySet());
+            if (knownPublishers.add(publisher) && routingTable.routeFor(publisher).size() > 0) {
+                livePublishers.add(publisher);
+            }
+        }
         logger.info("Publisher registered: " + publisher.getName());
     }
 
     public void registerAdminSubscriber(Subscriber admin, EventFilter filter) {
         if (admin == null || filter == null)
             throw new IllegalArgumentException("Admin subscriber or filter cannot be null");
-        adminSubscribers.add(admin);
-        subscriberFilterMap.put(admin, new AtomicReference<>(filter));
+        synchronized (routingLock) {
+            adminSubscribers.add(admin);
+            if (subscriberFilterMap.put(admin, FilterCompiler.compile(filter)) == null) {
+                dispatcher.register(admin);
+            }
+            rebuildRoutingTable();
+        }
         logger.info("Admin subscriber registered: " + admin.getName());
     }
 
@@ -53,15 +99,21 @@ public class EventBus {
         if (subscriber == null || publisher == null || filter == null)
             throw new IllegalArgumentException("Subscriber, Publisher, or Filter cannot be null");
 
-        publisherSubscriberMap
-                .computeIfAbsent(publisher, k -> ConcurrentHashMap.newKeySet())
-                .add(subscriber);
+        synchronized (routingLock) {
+            publisherSubscriberMap
+                    .computeIfAbsent(publisher, k -> ConcurrentHashMap.newKeySet())
+                    .add(subscriber);
 
-        subscriberPublisherMap
-                .computeIfAbsent(subscriber, k -> ConcurrentHashMap.newKeySet())
-                .add(publisher);
+            subscriberPublisherMap
+                    .computeIfAbsent(subscriber, k -> ConcurrentHashMap.newKeySet())
+                    .add(publisher);
+            knownPublishers.add(publisher);
 
-        subscriberFilterMap.putIfAbsent(subscriber, new AtomicReference<>(filter));
+            if (subscriberFilterMap.putIfAbsent(subscriber, FilterCompiler.compile(filter)) == null) {
+                dispatcher.register(subscriber);
+            }
+            rebuildRoutingTable();
+        }
 
         logger.info(subscriber.getName() + " subscribed to " + publisher.getName());
     }
@@ -70,53 +122,234 @@ public class EventBus {
         if (subscriber == null || publisher == null)
             throw new IllegalArgumentException("Subscriber or Publisher cannot be null");
 
-        publisherSubscriberMap.computeIfPresent(publisher, (pub, subs) -> {
-            subs.remove(subscriber);
-            return subs.isEmpty() ? null : subs;
-        });
-
-        subscriberPublisherMap.computeIfPresent(subscriber, (sub, pubs) -> {
-            pubs.remove(publisher);
-            if (pubs.isEmpty() && !adminSubscribers.contains(sub)) {
-                subscriberFilterMap.remove(sub);
-                logger.info("Subscriber removed completely: " + sub.getName());
-                return null;
-            }
-            return pubs;
-        });
+        synchronized (routingLock) {
+            publisherSubscriberMap.computeIfPresent(publisher, (pub, subs) -> {
+                subs.remove(subscriber);
+                return subs.isEmpty() ? null : subs;
+            });
+
+            subscriberPublisherMap.computeIfPresent(subscriber, (sub, pubs) -> {
+                pubs.remove(publisher);
+                return pubs.isEmpty() ? null : pubs;
+            });
+            removeIfUnsubscribed(subscriber);
+            rebuildRoutingTable();
+        }
 
         logger.info(subscriber.getName() + " unsubscribed from " + publisher.getName());
     }
 
+    // Receives events from every publisher whose topic matches the pattern ('*' = one segment, '#' = any tail)
+    public void subscribeTopic(Subscriber subscriber, String topicPattern, EventFilter filter) {
+        if (subscriber == null || filter == null)
+            throw new IllegalArgumentException("Subscriber or Filter cannot be null");
+        TopicTrie.validatePattern(topicPattern);
+
+        synchronized (routingLock) {
+            topicTrie.add(topicPattern, subscriber);
+            subscriberTopicMap
+                    .computeIfAbsent(subscriber, k -> ConcurrentHashMap.newKeySet())
+                    .add(topicPattern);
+            if (subscriberFilterMap.putIfAbsent(subscriber, FilterCompiler.compile(filter)) == null) {
+                dispatcher.register(subscriber);
+            }
+            rebuildRoutingTable();
+        }
+
+        logger.info(subscriber.getName() + " subscribed to topic " + topicPattern);
+    }
+
+    public void unsubscribeTopic(Subscriber subscriber, String topicPattern) {
+        if (subscriber == null || topicPattern == null)
+            throw new IllegalArgumentException("Subscriber or topic pattern cannot be null");
+
+        synchronized (routingLock) {
+            topicTrie.remove(topicPattern, subscriber);
+            subscriberTopicMap.computeIfPresent(subscriber, (sub, patterns) -> {
+                patterns.remove(topicPattern);
+                return patterns.isEmpty() ? null : patterns;
+            });
+            removeIfUnsubscribed(subscriber);
+            rebuildRoutingTable();
+        }
+
+        logger.info(subscriber.getName() + " unsubscribed from topic " + topicPattern);
+    }
+
+    public Set<String> getTopicSubscriptions(Subscriber subscriber) {
+        if (subscriber == null) throw new IllegalArgumentException("Subscriber cannot be null");
+        return new HashSet<>(subscriberTopicMap.getOrDefault(subscriber, Set.of()));
+    }
+
+    // Caller must hold routingLock
+    private void removeIfUnsubscribed(Subscriber subscriber) {
+        if (!subscriberPublisherMap.containsKey(subscriber)
+                && !subscriberTopicMap.containsKey(subscriber)
+                && !adminSubscribers.contains(subscriber)
+                && subscriberFilterMap.remove(subscriber) != null) {
+            dispatcher.unregister(subscriber);
+            logger.info("Subscriber removed completely: " + subscriber.getName());
+        }
+    }
+
     public void publishFromPublisher(Publisher publisher, Event event) {
         if (publisher == null) throw new IllegalArgumentException("Publisher cannot be null");
         if (event == null) throw new IllegalArgumentException("Event cannot be null");
 
-        // Deliver to regular subscribers
-        Set<Subscriber> subscribers = new HashSet<>(publisherSubscriberMap.getOrDefault(publisher, Set.of()));
-        for (Subscriber subscriber : subscribers) {
-            EventFilter filter = Optional.ofNullable(subscriberFilterMap.get(subscriber))
-                    .map(AtomicReference::get)
-                    .orElse(null);
-            if (filter != null && filter.shouldProcess(event)) {
-                subscriber.enqueue(event);
-                logger.info(subscriber.getName() + " received event: " + event);
+        RingBufferPipeline current = pipeline;
+        if (current != null && current.isAccepting()) {
+            try {
+                current.publish(publisher, event);
+                return;
+            } catch (IllegalStateException e) {
+                // shut down meanwhile; publish inline instead
+            }
+        }
+        routeToSubscribers(publisher, event);
+        routeToAdmins(event);
+        recordHistory(publisher, event);
+    }
+
+    public void publishBatch(Publisher publisher, List<Event> events) {
+        if (publisher == null) throw new IllegalArgumentException("Publisher cannot be null");
+        if (events == null) throw new IllegalArgumentException("Events cannot be null");
+        for (Event event : events) {
+            if (event == null) throw new IllegalArgumentException("Events cannot contain null");
+        }
+        if (events.isEmpty()) return;
+        int handedOff = publishThroughPipeline(Collections.nCopies(events.size(), publisher), events);
+        if (handedOff == events.size()) return;
+        events = events.subList(handedOff, events.size());
+
+        // Routing is resolved once for the whole batch
+        RoutingTable table = routingTable;
+        RoutingTable.Route route = table.routeFor(publisher);
+        for (int i = 0; i < route.size(); i++) {
+            dispatcher.dispatchBatch(route.subscribers[i], route.filters[i], events);
+        }
+        RoutingTable.Route admins = table.adminRoute();
+        for (int i = 0; i < admins.size(); i++) {
+            dispatcher.dispatchBatch(admins.subscribers[i], admins.filters[i], events);
+        }
+
+        try {
+            if (historyWriter != null) {
+                historyWriter.submitAll(events, publisher);
+            } else {
+                eventHistory.logEvents(events, publisher);
+            }
+        } catch (Exception e) {
+            logger.warning("Failed to log event batch: " + e.getMessage());
+        }
+    }
+
+    // events.get(i) is published by publishers.get(i); one routing lookup, one admin pass and one
+    // history hand-off for all of them
+    public void publishFromPublishers(List<Publisher> publishers, List<Event> events) {
+        if (publishers == null || events == null)
+            throw new IllegalArgumentException("Publishers and events cannot be null");
+        if (publishers.size() != events.size())
+            throw new IllegalArgumentException("Publishers and events must have the same size");
+        for (int i = 0; i < events.size(); i++) {
+            if (publishers.get(i) == null || events.get(i) == null)
+                throw new IllegalArgumentException("Publishers and events cannot contain null");
+        }
+        if (events.isEmpty()) return;
+        int handedOff = publishThroughPipeline(publishers, events);
+        if (handedOff == events.size()) return;
+        publishers = publishers.subList(handedOff, publishers.size());
+        events = events.subList(handedOff, events.size());
+
+        RoutingTable table = routingTable;
+        for (int i = 0; i < events.size(); i++) {
+            dispatchRoute(table.routeFor(publishers.get(i)), events.get(i));
+        }
+        RoutingTable.Route admins = table.adminRoute();
+        for (int i = 0; i < admins.size(); i++) {
+            dispatcher.dispatchBatch(admins.subscribers[i], admins.filters[i], events);
+        }
+
+        try {
+            if (historyWriter != null) {
+                historyWriter.submitAll(publishers, events);
+            } else {
+                List<EventHistory.EventRecord> records = new ArrayList<>(events.size());
+                for (int i = 0; i < events.size(); i++) {
+                    Publisher publisher = publishers.get(i);
+                    records.add(new EventHistory.EventRecord(events.get(i), publisher.getId(), publisher.getName()));
+                }
+                eventHistory.logRecords(records);
             }
+        } catch (Exception e) {
+            logger.warning("Failed to log event batch: " + e.getMessage());
         }
+    }
+
+    // The event is routed and recorded when it is released, through the same batched path as heartbeats
+    public DelayIndex.Pending publishAt(Publisher publisher, Event event, Instant releaseAt) {
+        return delayIndex().add(publisher, event, releaseAt);
+    }
+
+    private DelayIndex delayIndex() {
+        DelayIndex index = delayIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = delayIndex;
+                if (index == null) {
+                    if (delayClosed) {
+                        throw new IllegalStateException("Event bus is shut down");
+                    }
+                    index = new DelayIndex(this::publishFromPublishers);
+                    delayIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    // Events waiting for publishAt release, not counting cancelled ones
+    public long getDelayedCount() {
+        DelayIndex index = delayIndex;
+        return index == null ? 0 : index.getPendingCount();
+    }
 
-        // Deliver to admins
-        for (Subscriber admin : new HashSet<>(adminSubscribers)) {
-            EventFilter filter = Optional.ofNullable(subscriberFilterMap.get(admin))
-                    .map(AtomicReference::get)
-                    .orElse(null);
-            if (filter == null || filter.shouldProcess(event)) {
-                admin.enqueue(event);
+    // The three publish stages are also driven independently by RingBufferPipeline
+
+    void routeToSubscribers(Publisher publisher, Event event) {
+        dispatchRoute(routingTable.routeFor(publisher), event);
+    }
+
+    void routeToAdmins(Event event) {
+        dispatchRoute(routingTable.adminRoute(), event);
+    }
+
+    private void dispatchRoute(RoutingTable.Route route, Event event) {
+        int bucket = RoutingTable.Route.bucketOf(event);
+        if (bucket < 0) {
+            for (int i = 0; i < route.size(); i++) {
+                dispatcher.dispatch(route.subscribers[i], route.filters[i], event);
             }
+            return;
         }
 
+        // Only static subscribers that accept this (type, priority) bucket are visited
+        Subscriber[] matched = route.bucketSubscribers[bucket];
+        EventFilter[] matchedFilters = route.bucketFilters[bucket];
+        for (int i = 0; i < matched.length; i++) {
+            dispatcher.dispatch(matched[i], matchedFilters[i], event);
+        }
+        for (int i = 0; i < route.dynamicSubscribers.length; i++) {
+            dispatcher.dispatch(route.dynamicSubscribers[i], route.dynamicFilters[i], event);
+        }
+    }
 
+    void recordHistory(Publisher publisher, Event event) {
         try {
-            eventHistory.logEvent(event, publisher);
+            if (historyWriter != null) {
+                historyWriter.submit(event, publisher);
+            } else {
+                eventHistory.logEvent(event, publisher);
+            }
         } catch (Exception e) {
             logger.warning("Failed to log event: " + e.getMessage());
         }
@@ -131,11 +364,10 @@ public class EventBus {
         return new HashSet<>(publisherSubscriberMap.keySet());
     }
 
+    // Direct and topic subscribers both count
     public boolean hasSubscribers(Publisher publisher) {
         if (publisher == null) return false;
-        return Optional.ofNullable(publisherSubscriberMap.get(publisher))
-                .map(subs -> !subs.isEmpty())
-                .orElse(false);
+        return routingTable.routeFor(publisher).size() > 0;
     }
 
     public Set<Subscriber> getSubscribers(Publisher publisher) {
@@ -159,13 +391,96 @@ public class EventBus {
             throw new IllegalArgumentException("EventFilter cannot be null");
         }
 
-        subscriberFilterMap.compute(subscriber, (key, existingRef) -> {
-            if (existingRef == null) {
-                return new AtomicReference<>(newFilter);
-            } else {
-                existingRef.set(newFilter);
-                return existingRef;
+        synchronized (routingLock) {
+            subscriberFilterMap.put(subscriber, FilterCompiler.compile(newFilter));
+            rebuildRoutingTable();
+        }
+    }
+
+    public void addSubscriptionListener(SubscriptionListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        subscriptionListeners.add(listener);
+    }
+
+    public void removeSubscriptionListener(SubscriptionListener listener) {
+        subscriptionListeners.remove(listener);
+    }
+
+    // The pipeline must be started and built on this bus; pass null to publish inline again. While it
+    // is attached, batches go through the ring event by event too, so a publisher's events keep their
+    // order whichever publish method it uses
+    public void setPipeline(RingBufferPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    // Returns how many leading events the attached pipeline took; the caller publishes the rest inline
+    private int publishThroughPipeline(List<Publisher> publishers, List<Event> events) {
+        RingBufferPipeline current = pipeline;
+        if (current == null || !current.isAccepting()) {
+            return 0;
+        }
+        int handedOff = 0;
+        try {
+            for (; handedOff < events.size(); handedOff++) {
+                current.publish(publishers.get(handedOff), events.get(handedOff));
+            }
+        } catch (IllegalStateException e) {
+            // shut down meanwhile
+        }
+        return handedOff;
+    }
+
+    public HistoryWriter getHistoryWriter() {
+        return historyWriter;
+    }
+
+    // Stops any dispatcher threads; events already handed off, and delayed events not yet due, may be dropped.
+    // Queued history is written out.
+    public void shutdown() {
+        RingBufferPipeline current = pipeline;
+        if (current != null) {
+            current.shutdown();
+        }
+        DelayIndex index;
+        synchronized (this) {
+            delayClosed = true;
+            index = delayIndex;
+        }
+        if (index != null) {
+            index.close();
+        }
+        dispatcher.shutdown();
+        if (historyWriter != null) {
+            historyWriter.close();
+        }
+    }
+
+    // Caller must hold routingLock (or be the constructor)
+    private void rebuildRoutingTable() {
+        RoutingTable table = RoutingTable.build(publisherSubscriberMap, adminSubscribers, subscriberFilterMap, ACCEPT_ALL, topicTrie);
+        routingTable = table;
+        // A topic change can flip many publishers at once, so every known publisher is re-checked
+        for (Publisher publisher : knownPublishers) {
+            boolean live = table.routeFor(publisher).size() > 0;
+            if (live && livePublishers.add(publisher)) {
+                notifyListeners(publisher, true);
+            } else if (!live && livePublishers.remove(publisher)) {
+                notifyListeners(publisher, false);
+            }
+        }
+    }
+
+    private void notifyListeners(Publisher publisher, boolean live) {
+        for (SubscriptionListener listener : subscriptionListeners) {
+            try {
+                if (live) {
+                    listener.onFirstSubscriber(publisher);
+                } else {
+                    listener.onLastSubscriberRemoved(publisher);
+                }
+            } catch (RuntimeException e) {
+                logger.warning("Subscription listener failed: " + e.getMessage());
             }
-        });
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.filters.EventFilter;
+import com.company.notification.model.subscriber.Subscriber;
+
+import java.util.List;
+
+/**
+ * Strategy used by {@link EventBus} to hand a routed event to a subscriber. The bus resolves
+ * who should see an event; the dispatcher decides on which thread the filter and the
+ * {@link Subscriber#enqueue(Event)} call run.
+ */
+public interface EventDispatcher {
+
+    void dispatch(Subscriber subscriber, EventFilter filter, Event event);
+
+    default void dispatchBatch(Subscriber subscriber, EventFilter filter, List<Event> events) {
+        for (Event event : events) {
+            dispatch(subscriber, filter, event);
+        }
+    }
+
+    // Called before a subscriber's first subscription is routed, including after it was unregistered
+    default void register(Subscriber subscriber) {
+    }
+
+    // Called when a subscriber no longer has any subscriptions on the bus
+    default void unregister(Subscriber subscriber) {
+    }
+
+    default void shutdown() {
+    }
+
+    static EventDispatcher synchronous() {
+        return SynchronousDispatcher.INSTANCE;
+    }
+}
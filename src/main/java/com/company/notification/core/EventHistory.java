@@ -1,16 +1,51 @@
 package com.company.notification.core;
 
 import com.company.notification.event.Event;
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.Priority;
 import com.company.notification.model.publisher.Publisher;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
-public class EventHistory {
+public class EventHistory implements AutoCloseable {
+
+    // Sequence to start reading the history from
+    public static final long FIRST_SEQUENCE = 0L;
+    private static final int STREAM_PAGE_SIZE = 1024;
+
+    private final HistoryStore store;
+    // Striped rollups, adjusted on append, prune and clear so counting never scans the history
+    private final LongAdder totalCount = new LongAdder();
+    private final Map<EventTypes, LongAdder> typeCounts = new EnumMap<>(EventTypes.class);
+    private final Map<Priority, LongAdder> priorityCounts = new EnumMap<>(Priority.class);
+    // Publisher ids are open-ended, so counts are kept only while positive and merged atomically
+    private final Map<String, Long> publisherCounts = new ConcurrentHashMap<>();
+
+    public EventHistory() {
+        this(new InMemoryHistoryStore());
+    }
+
+    // Rollups of a store that already holds records (e.g. a reopened journal) are rebuilt here
+    public EventHistory(HistoryStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("History store cannot be null");
+        }
+        this.store = store;
+        for (EventTypes type : EventTypes.values()) {
+            typeCounts.put(type, new LongAdder());
+        }
+        for (Priority priority : Priority.values()) {
+            priorityCounts.put(priority, new LongAdder());
+        }
+        store.forEach(record -> count(record, 1));
+        store.setEvictionListener(record -> count(record, -1));
+    }
 
-    private final List<EventRecord> history = new CopyOnWriteArrayList<>();
     // Immutable record for storage
     public static final class EventRecord {
         private final Event event;
@@ -19,11 +54,16 @@ public class EventHistory {
         private final String publisherName;
 
         public EventRecord(Event event, String publisherid,String publisherName) {
+            this(event, publisherid, publisherName, Instant.now());
+        }
+
+        // Restores a stored record with its original timestamp
+        EventRecord(Event event, String publisherid, String publisherName, Instant timestamp) {
             if (event == null || publisherName == null) {
                 throw new IllegalArgumentException("Event and publisherId cannot be null");
             }
             this.event = event;
-            this.timestamp = Instant.now();
+            this.timestamp = timestamp;
             this.publisherId = publisherid;
             this.publisherName = publisherName;
         }
@@ -40,6 +80,10 @@ public class EventHistory {
             return publisherId;
         }
 
+        public String getPublisherName() {
+            return publisherName;
+        }
+
         @Override
         public String toString() {
             return "[timestamp: " + timestamp + "] from " + publisherName + " ( publisherId: " + publisherId + ")"    + " -> " + event;
@@ -64,64 +108,192 @@ public class EventHistory {
         if (event == null || publisher == null) {
             throw new IllegalArgumentException("Event and Publisher cannot be null");
         }
-        history.add(new EventRecord(event, publisher.getId(), publisher.getName()));
+        EventRecord record = new EventRecord(event, publisher.getId(), publisher.getName());
+        store.append(record);
+        count(record, 1);
+    }
+
+    public void logEvents(List<Event> events, Publisher publisher) {
+        if (events == null || publisher == null) {
+            throw new IllegalArgumentException("Events and Publisher cannot be null");
+        }
+        List<EventRecord> records = new ArrayList<>(events.size());
+        for (Event event : events) {
+            records.add(new EventRecord(event, publisher.getId(), publisher.getName()));
+        }
+        logRecords(records);
+    }
+
+    // Appends records stamped elsewhere, e.g. by HistoryWriter on the publishing thread
+    void logRecords(List<EventRecord> records) {
+        store.appendAll(records);
+        for (EventRecord record : records) {
+            count(record, 1);
+        }
+    }
+
+    public void flush() {
+        store.flush();
+    }
+
+    private void count(EventRecord record, long delta) {
+        totalCount.add(delta);
+        EventTypes type = record.getEvent().getType();
+        if (type != null) {
+            typeCounts.get(type).add(delta);
+        }
+        Priority priority = record.getEvent().getPriority();
+        if (priority != null) {
+            priorityCounts.get(priority).add(delta);
+        }
+        if (record.getPublisherId() != null) {
+            publisherCounts.merge(TimeKeys.publisherKey(record.getPublisherId()), delta,
+                    (count, change) -> count + change > 0 ? count + change : null);
+        }
     }
 
     public List<EventRecord> getAllEvents() {
-        return new ArrayList<>(history); // Defensive copy
+        List<EventRecord> records = new ArrayList<>();
+        store.forEach(records::add);
+        return records;
+    }
+
+    // One page of a cursor read; pass nextSequence back to continue where this page ended
+    public record Page(List<EventRecord> records, long nextSequence, boolean hasMore) {
+    }
+
+    public Page readEvents(long fromSequence, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+        List<EventRecord> records = new ArrayList<>(Math.min(limit, STREAM_PAGE_SIZE));
+        boolean[] hasMore = new boolean[1];
+        // Declining the record after a full page tells whether there is another page
+        long next = store.scan(fromSequence, record -> {
+            if (records.size() == limit) {
+                hasMore[0] = true;
+                return false;
+            }
+            records.add(record);
+            return true;
+        });
+        return new Page(Collections.unmodifiableList(records), next, hasMore[0]);
+    }
+
+    // Hands records to the sink in append order until it returns false; returns the sequence to resume from
+    public long scanEvents(long fromSequence, Predicate<? super EventRecord> sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        return store.scan(fromSequence, sink);
+    }
+
+    // Lazy: records are read a page at a time as the stream is consumed
+    public Stream<EventRecord> streamEvents() {
+        return Stream.iterate(readEvents(FIRST_SEQUENCE, STREAM_PAGE_SIZE), Objects::nonNull,
+                        page -> page.hasMore() ? readEvents(page.nextSequence(), STREAM_PAGE_SIZE) : null)
+                .flatMap(page -> page.records().stream());
     }
 
     public List<EventRecord> getEventsByType(String type) {
         if (type == null || type.trim().isEmpty()) return List.of();
-        String normalizedType = type.trim().toUpperCase();
-        return history.stream()
-                .filter(records -> normalizedType.equals(records.getEvent().getType().name()))
-                .toList();
+        EventTypes eventType = typeOf(type);
+        if (eventType == null) return List.of();
+        return Collections.unmodifiableList(store.rangeByType(eventType, Instant.MIN, Instant.MAX));
+    }
+
+    public List<EventRecord> getEventsByType(EventTypes type, Instant start, Instant end) {
+        if (type == null || start == null || end == null) return List.of();
+        return Collections.unmodifiableList(store.rangeByType(type, start, end));
     }
 
     public List<EventRecord> getEventsByPublisher(String publisherId) {
         if (publisherId == null) return List.of();
-        return history.stream()
-                .filter(records -> publisherId.equalsIgnoreCase(records.getPublisherId()))
-                .toList();
+        return Collections.unmodifiableList(store.rangeByPublisher(publisherId, Instant.MIN, Instant.MAX));
+    }
+
+    public List<EventRecord> getEventsByPublisher(String publisherId, Instant start, Instant end) {
+        if (publisherId == null || start == null || end == null) return List.of();
+        return Collections.unmodifiableList(store.rangeByPublisher(publisherId, start, end));
     }
 
     public List<EventRecord> getEventsAfter(Instant timestamp) {
         if (timestamp == null) return List.of();
-        return history.stream()
-                .filter(records -> records.getTimestamp().isAfter(timestamp))
-                .toList();
+        return Collections.unmodifiableList(store.range(after(timestamp), Instant.MAX));
     }
 
     public Map<String, Long> countEventsByType() {
-        return history.stream()
-                .collect(Collectors.groupingBy(
-                        records -> records.getEvent().getType().name(),
-                        Collectors.counting()));
+        Map<String, Long> counts = new HashMap<>();
+        typeCounts.forEach((type, count) -> putIfPositive(counts, type.name(), count));
+        return counts;
+    }
+
+    public Map<Priority, Long> countEventsByPriority() {
+        Map<Priority, Long> counts = new EnumMap<>(Priority.class);
+        priorityCounts.forEach((priority, count) -> putIfPositive(counts, priority, count));
+        return counts;
+    }
+
+    // Keyed by lower-cased publisher id, the form publisher lookups are matched in
+    public Map<String, Long> countEventsByPublisher() {
+        Map<String, Long> counts = new HashMap<>();
+        publisherCounts.forEach((publisherId, count) -> {
+            if (count > 0) counts.put(publisherId, count);
+        });
+        return counts;
+    }
+
+    public long getEventCount() {
+        return totalCount.sum();
+    }
+
+    private static <K> void putIfPositive(Map<K, Long> counts, K key, LongAdder count) {
+        long value = count.sum();
+        if (value > 0) {
+            counts.put(key, value);
+        }
     }
 
     public void pruneBefore(Instant cutoff) {
         if (cutoff == null) return;
-        history.removeIf(records -> records.getTimestamp().isBefore(cutoff));
+        store.pruneBefore(cutoff, records -> count(records, -1));
     }
     //  NEW: Get events from the last hour
     public List<EventRecord> getEventsInLastHour() {
         Instant oneHourAgo = Instant.now().minusSeconds(3600);
-        return history.stream()
-                .filter(records -> records.getTimestamp().isAfter(oneHourAgo))
-                .toList();
+        return Collections.unmodifiableList(store.range(after(oneHourAgo), Instant.MAX));
     }
 
 
 
     public List<EventRecord> getEventsBetween(Instant start, Instant end) {
         if (start == null || end == null) return List.of();
-        return history.stream()
-                .filter(records -> !records.getTimestamp().isBefore(start) && !records.getTimestamp().isAfter(end))
-                .toList();
+        return Collections.unmodifiableList(store.range(start, end));
+    }
+
+    // Earliest instant strictly after the given one
+    private static Instant after(Instant instant) {
+        return instant.equals(Instant.MAX) ? instant : instant.plusNanos(1);
     }
 
         public void clear() {
-        history.clear();
+        store.clear();
+        totalCount.reset();
+        typeCounts.values().forEach(LongAdder::reset);
+        priorityCounts.values().forEach(LongAdder::reset);
+        publisherCounts.clear();
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private static EventTypes typeOf(String type) {
+        try {
+            return EventTypes.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 }
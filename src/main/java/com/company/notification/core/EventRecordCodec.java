@@ -0,0 +1,73 @@
+package com.company.notification.core;
+
+import com.company.notification.codec.EventCodec;
+import com.company.notification.codec.PublisherDictionary;
+import com.company.notification.core.EventHistory.EventRecord;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary layout of an {@link EventRecord} in the journal: a small record header followed by the
+ * event in {@link EventCodec} format. The fields queries filter on come first at fixed offsets, so
+ * they can be checked in the mapped bytes before anything is decoded:
+ * <pre>
+ *   long   record timestamp (epoch nanos)
+ *   byte   event type ordinal
+ *   byte   priority ordinal
+ *   varint publisher id code + 1 (0 for null)
+ *   varint publisher name code + 1
+ *   event  EventCodec encoding
+ * </pre>
+ */
+final class EventRecordCodec {
+
+    static final int TYPE_OFFSET = 8;
+    static final int PUBLISHER_ID_OFFSET = 10;
+
+    private final PublisherDictionary dictionary;
+    private final EventCodec eventCodec;
+
+    EventRecordCodec(PublisherDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.eventCodec = new EventCodec(dictionary);
+    }
+
+    // Throws BufferOverflowException when the record does not fit in the remaining space
+    void encode(EventRecord record, ByteBuffer buffer) {
+        buffer.putLong(TimeKeys.of(record.getTimestamp()));
+        buffer.put((byte) record.getEvent().getType().ordinal());
+        buffer.put((byte) record.getEvent().getPriority().ordinal());
+        EventCodec.writeVarInt(buffer, codeOf(record.getPublisherId()));
+        EventCodec.writeVarInt(buffer, codeOf(record.getPublisherName()));
+        eventCodec.encode(record.getEvent(), buffer);
+    }
+
+    EventRecord decode(ByteBuffer buffer) {
+        long timeKey = buffer.getLong();
+        buffer.position(buffer.position() + 2); // type and priority are repeated in the event
+        String publisherId = entryOf(EventCodec.readVarInt(buffer));
+        String publisherName = entryOf(EventCodec.readVarInt(buffer));
+        return new EventRecord(eventCodec.decode(buffer), publisherId, publisherName, TimeKeys.toInstant(timeKey));
+    }
+
+    static long timeKeyAt(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+    }
+
+    static int typeAt(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + TYPE_OFFSET);
+    }
+
+    // -1 for records without a publisher id
+    static int publisherCodeAt(ByteBuffer buffer, int offset) {
+        return EventCodec.readVarInt(buffer, offset + PUBLISHER_ID_OFFSET) - 1;
+    }
+
+    private int codeOf(String value) {
+        return value == null ? 0 : dictionary.codeOf(value) + 1;
+    }
+
+    private String entryOf(int code) {
+        return code == 0 ? null : dictionary.entry(code - 1);
+    }
+}
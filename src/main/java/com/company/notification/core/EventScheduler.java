@@ -4,19 +4,46 @@ import com.company.notification.event.HeartBeatEvent;
 import com.company.notification.event.Priority;
 import com.company.notification.model.publisher.Publisher;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 import java.util.logging.Logger;
 
+/**
+ * Heartbeat schedule for a single publisher, with its own wheel entry.
+ *
+ * @deprecated use {@link SchedulerManager}, which runs every publisher's heartbeat and lets
+ * schedules with the same interval share one wheel entry.
+ */
+@Deprecated
 public class EventScheduler {
 private final EventBus eventBus ;
 private final Publisher publisher;
-private final long intervalSeconds;
-private ScheduledExecutorService scheduler;
+private final Duration interval;
+private final TimingWheel.CatchUpPolicy catchUpPolicy;
+private final TimingWheel wheel;
+// Kept across pauses so lateness covers the whole life of the schedule
+private final LatenessHistogram lateness = new LatenessHistogram();
+private final SubscriptionListener listener = new PublisherListener();
+// Guarded by this; paused while started with no heartbeat on the wheel
+private boolean started;
+private TimingWheel.Timeout heartbeat;
     private static final Logger logger = Logger.getLogger(EventScheduler.class.getName());
 
     public EventScheduler(EventBus eventBus, Publisher publisher, long intervalSeconds) {
+        this(eventBus, publisher, intervalSeconds, TimingWheel.shared());
+    }
+
+    // Schedules share the wheel's threads instead of owning one each
+    public EventScheduler(EventBus eventBus, Publisher publisher, long intervalSeconds, TimingWheel wheel) {
+        this(eventBus, publisher, checkedSeconds(intervalSeconds), TimingWheel.CatchUpPolicy.COALESCE, wheel);
+    }
+
+    public EventScheduler(EventBus eventBus, Publisher publisher, Duration interval) {
+        this(eventBus, publisher, interval, TimingWheel.CatchUpPolicy.COALESCE, TimingWheel.shared());
+    }
+
+    // Sub-second intervals are resolved to the wheel's tick
+    public EventScheduler(EventBus eventBus, Publisher publisher, Duration interval,
+                          TimingWheel.CatchUpPolicy catchUpPolicy, TimingWheel wheel) {
       //  null check
         if (eventBus == null) {
             throw new IllegalArgumentException("Event bus cannot be null");
@@ -24,60 +51,104 @@ private ScheduledExecutorService scheduler;
         if (publisher == null) {
             throw new IllegalArgumentException("Publisher cannot be null");
         }
-        if (intervalSeconds <= 0) {
-            throw new IllegalArgumentException("Interval seconds must be greater than 0");
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be greater than 0");
+        }
+        if (catchUpPolicy == null) {
+            throw new IllegalArgumentException("Catch-up policy cannot be null");
+        }
+        if (wheel == null) {
+            throw new IllegalArgumentException("Timing wheel cannot be null");
         }
         this.eventBus = eventBus;
         this.publisher = publisher;
-        this.intervalSeconds = intervalSeconds;
+        this.interval = interval;
+        this.catchUpPolicy = catchUpPolicy;
+        this.wheel = wheel;
     }
 
+    private static Duration checkedSeconds(long intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            throw new IllegalArgumentException("Interval seconds must be greater than 0");
+        }
+        return Duration.ofSeconds(intervalSeconds);
+    }
 
-    public void start() {
 
-        if (scheduler != null && !scheduler.isShutdown()) {
+    public synchronized void start() {
+        if (started) {
             logger.info("Scheduler already started for " + publisher.getName());
             return;
         }
-
-        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r);
-            t.setDaemon(true);
-            t.setName("HeartbeatScheduler-" + publisher.getName());
-            return t;
-        });
-
-        scheduler.scheduleAtFixedRate(() -> {
-            if (!eventBus.hasSubscribers(publisher)) {
-                logger.warning("No subscribers remaining. Shutting down scheduler for " + publisher.getName());
-                shutdown();
-                return;
-            }
-
-            HeartBeatEvent heartBeatEvent = new HeartBeatEvent(publisher.getId(), Priority.MEDIUM);
-            eventBus.publishFromPublisher(publisher, heartBeatEvent);
-
-        }, 0, intervalSeconds, TimeUnit.SECONDS);
-//        logger.info("Heartbeat scheduler started for publisher: " + publisher.getName());
-
+        started = true;
+        // Listen before checking, so a subscription that lands in between is not missed
+        eventBus.addSubscriptionListener(listener);
+        if (eventBus.hasSubscribers(publisher)) {
+            resume();
+        } else {
+            logger.info("Scheduler for " + publisher.getName() + " paused until it has subscribers");
+        }
     }
 
+    private synchronized void resume() {
+        if (started && heartbeat == null) {
+            heartbeat = wheel.scheduleAtFixedRate(() -> {
+                HeartBeatEvent heartBeatEvent = new HeartBeatEvent(publisher.getId(), Priority.MEDIUM);
+                eventBus.publishFromPublisher(publisher, heartBeatEvent);
+            }, Duration.ZERO, interval, catchUpPolicy, lateness);
+        }
+    }
 
-    public  void shutdown() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdownNow();
-            logger.info("Scheduler shutdown for " + publisher.getName());
+    private synchronized void pause() {
+        if (heartbeat != null) {
+            heartbeat.cancel();
+            heartbeat = null;
         }
+    }
 
+    public void shutdown() {
+        synchronized (this) {
+            if (!started) {
+                return;
+            }
+            started = false;
+            pause();
+        }
+        eventBus.removeSubscriptionListener(listener);
+        logger.info("Scheduler shutdown for " + publisher.getName());
+    }
 
+    public synchronized boolean isShutdown() {
+        return !started;
+    }
 
+    public LatenessHistogram getLateness() {
+        return lateness;
+    }
 
+    public Duration getInterval() {
+        return interval;
     }
 
+    // Started, but its publisher currently has no subscribers
+    public synchronized boolean isPaused() {
+        return started && heartbeat == null;
+    }
 
+    private final class PublisherListener implements SubscriptionListener {
+        @Override
+        public void onFirstSubscriber(Publisher changed) {
+            if (publisher.equals(changed)) {
+                resume();
+            }
+        }
 
-    public boolean isShutdown() {
-        return scheduler == null || scheduler.isShutdown();
+        @Override
+        public void onLastSubscriberRemoved(Publisher changed) {
+            if (publisher.equals(changed)) {
+                pause();
+            }
+        }
     }
 
 }
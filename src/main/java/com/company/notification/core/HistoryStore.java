@@ -0,0 +1,58 @@
+package com.company.notification.core;
+
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.EventTypes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Storage behind {@link EventHistory}. Records arrive in near-monotonic timestamp order; time
+ * ranges are inclusive at both ends and publisher ids are matched case-insensitively.
+ */
+public interface HistoryStore extends AutoCloseable {
+
+    void append(EventRecord record);
+
+    default void appendAll(List<EventRecord> records) {
+        for (EventRecord record : records) {
+            append(record);
+        }
+    }
+
+    // Visits every retained record in append order
+    void forEach(Consumer<? super EventRecord> action);
+
+    /**
+     * Visits retained records from sequence {@code from} on, in append order, until the action
+     * returns false. Returns the sequence to resume from: that of the record the action declined,
+     * or the end of the store. Sequences start at 0 and only grow, also across prune and clear, so
+     * a saved sequence stays valid; records pruned in the meantime are skipped.
+     */
+    long scan(long from, Predicate<? super EventRecord> action);
+
+    List<EventRecord> range(Instant start, Instant end);
+
+    List<EventRecord> rangeByType(EventTypes type, Instant start, Instant end);
+
+    List<EventRecord> rangeByPublisher(String publisherId, Instant start, Instant end);
+
+    // Drops records older than cutoff, handing each one to onDrop
+    void pruneBefore(Instant cutoff, Consumer<? super EventRecord> onDrop);
+
+    void clear();
+
+    // Forces appended records to durable storage; a no-op for stores that only live in memory
+    default void flush() {
+    }
+
+    // Called with each record a bounded store discards on its own to make room for new ones
+    default void setEvictionListener(Consumer<? super EventRecord> listener) {
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,268 @@
+package com.company.notification.core;
+
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.Event;
+import com.company.notification.model.publisher.Publisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Appends history records on a dedicated writer thread. Publishers only stamp the record and
+ * put it on a bounded queue; the writer drains whatever has accumulated, up to
+ * {@code maxBatchSize}, and commits it to the {@link EventHistory} as one batch, optionally
+ * forcing the store to disk after each batch.
+ * <p>
+ * A publisher only waits when the queue is full, i.e. when the writer is a whole queue behind.
+ * Should the writer thread die, publishers fall back to writing their own records synchronously.
+ */
+public class HistoryWriter implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 512;
+
+    private static final Logger logger = Logger.getLogger(HistoryWriter.class.getName());
+    private static final long POLL_MILLIS = 100;
+
+    private final EventHistory history;
+    private final BlockingQueue<EventRecord> queue;
+    private final int maxBatchSize;
+    private final boolean syncEachBatch;
+    private final Thread writer;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final Object commitLock = new Object();
+    // Timestamp of the oldest record in the batch being committed; null while idle
+    private volatile Instant inFlightSince;
+    private volatile boolean running = true;
+    // Set if the writer thread exits before close(); records are then written on the caller
+    private volatile boolean writerDead;
+    // Submitters past the running check; the writer does not exit while any of them may still put
+    private final AtomicInteger enqueuers = new AtomicInteger();
+
+    public HistoryWriter(EventHistory history) {
+        this(history, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, false);
+    }
+
+    public HistoryWriter(EventHistory history, int capacity, int maxBatchSize, boolean syncEachBatch) {
+        if (history == null) {
+            throw new IllegalArgumentException("Event history cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be greater than 0");
+        }
+        this.history = history;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.syncEachBatch = syncEachBatch;
+        this.writer = new Thread(this::run, "HistoryWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void submit(Event event, Publisher publisher) {
+        if (event == null || publisher == null) {
+            throw new IllegalArgumentException("Event and Publisher cannot be null");
+        }
+        enqueue(new EventRecord(event, publisher.getId(), publisher.getName()));
+    }
+
+    public void submitAll(List<Event> events, Publisher publisher) {
+        if (events == null || publisher == null) {
+            throw new IllegalArgumentException("Events and Publisher cannot be null");
+        }
+        for (Event event : events) {
+            submit(event, publisher);
+        }
+    }
+
+    // events.get(i) was published by publishers.get(i)
+    public void submitAll(List<Publisher> publishers, List<Event> events) {
+        if (publishers == null || events == null) {
+            throw new IllegalArgumentException("Publishers and events cannot be null");
+        }
+        if (publishers.size() != events.size()) {
+            throw new IllegalArgumentException("Publishers and events must have the same size");
+        }
+        for (int i = 0; i < events.size(); i++) {
+            submit(events.get(i), publishers.get(i));
+        }
+    }
+
+    private void enqueue(EventRecord record) {
+        enqueuers.incrementAndGet();
+        try {
+            if (!running) {
+                throw new IllegalStateException("History writer is closed");
+            }
+            submitted.incrementAndGet();
+            if (writerDead) {
+                commit(List.of(record));
+                return;
+            }
+            // Timed so a producer waiting on a full queue notices a dead writer
+            while (!queue.offer(record, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (writerDead) {
+                    commit(List.of(record));
+                    return;
+                }
+            }
+            if (writerDead) {
+                drainOnCaller();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.incrementAndGet();
+            logger.warning("Interrupted while queueing history record, record dropped: " + record);
+            signalDone();
+        } finally {
+            enqueuers.decrementAndGet();
+        }
+    }
+
+    private void run() {
+        List<EventRecord> batch = new ArrayList<>(maxBatchSize);
+        try {
+            // Checked in this order so a record put by a submitter that saw running is never left behind
+            while (running || enqueuers.get() > 0 || !queue.isEmpty()) {
+                EventRecord first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            logger.severe("History writer failed: " + t);
+        } finally {
+            if (running) {
+                writerDead = true;
+                logger.severe("History writer stopped unexpectedly; history is now written synchronously");
+                drainOnCaller();
+            }
+        }
+    }
+
+    // Writes whatever the dead writer left in the queue on the calling thread
+    private void drainOnCaller() {
+        List<EventRecord> rest = new ArrayList<>();
+        while (queue.drainTo(rest, maxBatchSize) > 0) {
+            commit(rest);
+            rest.clear();
+        }
+    }
+
+    private void commit(List<EventRecord> batch) {
+        inFlightSince = batch.get(0).getTimestamp();
+        try {
+            history.logRecords(batch);
+            if (syncEachBatch) {
+                history.flush();
+            }
+            batches.incrementAndGet();
+            written.addAndGet(batch.size());
+        } catch (Throwable t) {
+            // Errors too: the batch is lost either way, and the writer thread must keep running
+            failed.addAndGet(batch.size());
+            logger.warning("Failed to write history batch of " + batch.size() + " records: " + t);
+        } finally {
+            inFlightSince = null;
+            signalDone();
+        }
+    }
+
+    private void signalDone() {
+        synchronized (commitLock) {
+            commitLock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until every record submitted before this call has been written (or has failed).
+     * Returns false if that did not happen within the timeout.
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long target = submitted.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (commitLock) {
+            while (written.get() + failed.get() < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(commitLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    // Records submitted but not yet written
+    public long getPendingCount() {
+        return Math.max(0, submitted.get() - written.get() - failed.get());
+    }
+
+    // Age of the oldest record not yet written; zero when the writer is caught up
+    public Duration getLag() {
+        Instant oldest = inFlightSince;
+        if (oldest == null) {
+            EventRecord head = queue.peek();
+            oldest = head == null ? null : head.getTimestamp();
+        }
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now());
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    // Stops accepting records, writes out everything already queued and stops the writer thread
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        // No interrupt: it would close the file channels of a store in the middle of a write
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warning("History writer did not finish within 5 seconds; " + getPendingCount() + " records pending");
+            return;
+        }
+        // Records left by a writer that died before close
+        drainOnCaller();
+    }
+}
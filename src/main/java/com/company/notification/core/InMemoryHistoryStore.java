@@ -0,0 +1,110 @@
+package com.company.notification.core;
+
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.EventTypes;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Heap-resident {@link HistoryStore}: a time-indexed {@link SegmentedLog} plus posting lists by
+ * event type and by publisher, each of them time-indexed as well.
+ */
+public class InMemoryHistoryStore implements HistoryStore {
+
+    // Posting lists hold far fewer records than the main log, so they use smaller segments
+    private static final int POSTING_SEGMENT_SIZE = 512;
+
+    private final SegmentedLog<EventRecord> history = newLog(SegmentedLog.DEFAULT_SEGMENT_SIZE);
+    private final Map<EventTypes, SegmentedLog<EventRecord>> byType = new EnumMap<>(EventTypes.class);
+    private final Map<String, SegmentedLog<EventRecord>> byPublisher = new ConcurrentHashMap<>();
+
+    public InMemoryHistoryStore() {
+        for (EventTypes type : EventTypes.values()) {
+            byType.put(type, newLog(POSTING_SEGMENT_SIZE));
+        }
+    }
+
+    @Override
+    public void append(EventRecord record) {
+        history.append(record);
+        index(record);
+    }
+
+    @Override
+    public void appendAll(List<EventRecord> records) {
+        history.appendAll(records);
+        for (EventRecord record : records) {
+            index(record);
+        }
+    }
+
+    private void index(EventRecord record) {
+        EventTypes type = record.getEvent().getType();
+        if (type != null) {
+            byType.get(type).append(record);
+        }
+        if (record.getPublisherId() != null) {
+            // Appended inside compute so pruning cannot drop the log between lookup and append
+            byPublisher.compute(TimeKeys.publisherKey(record.getPublisherId()), (key, postings) -> {
+                SegmentedLog<EventRecord> log = postings == null ? newLog(POSTING_SEGMENT_SIZE) : postings;
+                log.append(record);
+                return log;
+            });
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super EventRecord> action) {
+        history.forEach(action);
+    }
+
+    @Override
+    public long scan(long from, Predicate<? super EventRecord> action) {
+        return history.scan(from, action);
+    }
+
+    @Override
+    public List<EventRecord> range(Instant start, Instant end) {
+        return history.range(TimeKeys.of(start), TimeKeys.of(end));
+    }
+
+    @Override
+    public List<EventRecord> rangeByType(EventTypes type, Instant start, Instant end) {
+        return byType.get(type).range(TimeKeys.of(start), TimeKeys.of(end));
+    }
+
+    @Override
+    public List<EventRecord> rangeByPublisher(String publisherId, Instant start, Instant end) {
+        SegmentedLog<EventRecord> postings = byPublisher.get(TimeKeys.publisherKey(publisherId));
+        return postings == null ? List.of() : postings.range(TimeKeys.of(start), TimeKeys.of(end));
+    }
+
+    @Override
+    public void pruneBefore(Instant cutoff, Consumer<? super EventRecord> onDrop) {
+        // Records are appended in timestamp order, so the expired ones sit at the front of each log
+        history.dropWhile(records -> records.getTimestamp().isBefore(cutoff), onDrop);
+        byType.values().forEach(postings -> postings.dropWhile(records -> records.getTimestamp().isBefore(cutoff)));
+        // Publishers whose records have all expired are forgotten, so the map tracks live publishers only
+        for (String publisherKey : byPublisher.keySet()) {
+            byPublisher.computeIfPresent(publisherKey, (key, postings) -> {
+                postings.dropWhile(records -> records.getTimestamp().isBefore(cutoff));
+                return postings.isEmpty() ? null : postings;
+            });
+        }
+    }
+
+    @Override
+    public void clear() {
+        history.clear();
+        byType.values().forEach(SegmentedLog::clear);
+        byPublisher.clear();
+    }
+
+    private static SegmentedLog<EventRecord> newLog(int segmentSize) {
+        return new SegmentedLog<>(segmentSize, records -> TimeKeys.of(records.getTimestamp()));
+    }
+}
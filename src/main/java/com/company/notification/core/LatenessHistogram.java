@@ -0,0 +1,64 @@
+package com.company.notification.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * How late scheduled runs started, in power-of-two microsecond buckets: bucket {@code i} holds
+ * lateness below {@code 2^i} µs, so percentiles are exact to within a factor of two. Recording
+ * is lock-free and allocation-free; reads are not atomic snapshots.
+ */
+public final class LatenessHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long latenessNanos) {
+        long nanos = Math.max(0, latenessNanos);
+        long micros = nanos / 1000;
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        counts.incrementAndGet(bucket);
+        count.incrementAndGet();
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    // Upper bound of the bucket holding the given percentile (0-100), capped at the maximum seen
+    public Duration getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long total = count.get();
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min((1L << i) * 1000, maxNanos.get()));
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount()
+                + ", p50=" + getPercentile(50).toMillis() + "ms"
+                + ", p99=" + getPercentile(99).toMillis() + "ms"
+                + ", max=" + getMax().toMillis() + "ms";
+    }
+}
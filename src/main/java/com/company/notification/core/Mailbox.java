@@ -0,0 +1,144 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.filters.EventFilter;
+import com.company.notification.model.subscriber.Subscriber;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Bounded per-subscriber hand-off queue used by the asynchronous dispatchers. Each event is
+ * queued with the filter it was routed with, and that filter is evaluated when the event is
+ * drained.
+ * <p>
+ * A closed mailbox rejects new offers but still hands over what it holds. It counts offers in
+ * progress, so its owner can tell when it is closed, idle and empty and will stay that way.
+ */
+final class Mailbox {
+
+    private static final Logger logger = Logger.getLogger(Mailbox.class.getName());
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Subscriber subscriber;
+    private final BiConsumer<Subscriber, Event> handler;
+    private final BlockingQueue<Delivery> queue;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong reportedDrops = new AtomicLong();
+    private final AtomicLong lastDropReport = new AtomicLong(System.nanoTime() - DROP_REPORT_INTERVAL_NANOS);
+    private final AtomicInteger offering = new AtomicInteger();
+    private volatile boolean closed;
+
+    Mailbox(Subscriber subscriber, int capacity, BiConsumer<Subscriber, Event> handler) {
+        this.subscriber = subscriber;
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    Subscriber subscriber() {
+        return subscriber;
+    }
+
+    // Returns false if the mailbox is full (counted as a drop) or closed (not counted)
+    boolean offer(EventFilter filter, Event event) {
+        offering.incrementAndGet();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (queue.offer(new Delivery(filter, event))) {
+                return true;
+            }
+            dropped.incrementAndGet();
+            reportDrops();
+            return false;
+        } finally {
+            offering.decrementAndGet();
+        }
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    // Re-registered before it finished draining: the same mailbox carries on, so order is kept
+    void reopen() {
+        closed = false;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    // Checked in this order: an offer that got past the closed check has either finished and left its event, or is counted
+    boolean isRetired() {
+        return closed && offering.get() == 0 && queue.isEmpty();
+    }
+
+    // At most one warning per interval, so an overloaded subscriber does not flood the log
+    private void reportDrops() {
+        long now = System.nanoTime();
+        long last = lastDropReport.get();
+        if (now - last < DROP_REPORT_INTERVAL_NANOS || !lastDropReport.compareAndSet(last, now)) {
+            return;
+        }
+        long total = dropped.get();
+        long since = total - reportedDrops.getAndSet(total);
+        logger.warning("Mailbox full for " + subscriber.getName() + ". " + since + " events dropped since the last report");
+    }
+
+    // Delivers the next queued event, if any
+    boolean deliverNext() {
+        Delivery delivery = queue.poll();
+        if (delivery == null) {
+            return false;
+        }
+        deliver(delivery);
+        return true;
+    }
+
+    void takeAndDeliver() throws InterruptedException {
+        deliver(queue.take());
+    }
+
+    // Runs the filter the event was routed with; a failing subscriber must not take down the consumer thread
+    private void deliver(Delivery delivery) {
+        try {
+            if (delivery.filter() != null && delivery.filter().shouldProcess(delivery.event())) {
+                handler.accept(subscriber, delivery.event());
+            }
+        } catch (RuntimeException e) {
+            logger.warning("Delivery to " + subscriber.getName() + " failed: " + e.getMessage());
+        }
+    }
+
+    boolean tryMarkScheduled() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void clearScheduled() {
+        scheduled.set(false);
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+
+    private record Delivery(EventFilter filter, Event event) {
+    }
+}
@@ -0,0 +1,514 @@
+package com.company.notification.core;
+
+import com.company.notification.codec.EventCodec;
+import com.company.notification.codec.PublisherDictionary;
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.EventTypes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Durable {@link HistoryStore} that journals records into memory-mapped segment files. Appends
+ * are sequential writes into the mapped page cache; queries walk the mapped bytes, filter on the
+ * fixed-offset timestamp, type and publisher fields and only decode the records they return.
+ * Each segment keeps its min/max timestamp on the heap, so range queries skip whole files.
+ * <p>
+ * Every record is framed as {@code [int length][payload]}, the payload being the
+ * {@link EventRecordCodec} layout. The length is written after the payload, so a record only
+ * becomes visible, and only survives a restart, once it is complete. Publisher ids and names are
+ * dictionary-coded; new dictionary entries are appended to their own file before the first record
+ * that uses them. A record's scan sequence is its segment id in the high 32 bits and its frame
+ * offset in the low 32 bits, which keeps sequences stable across restarts. Reopening a directory
+ * scans the frame headers to rebuild the segment summaries.
+ */
+public class MappedHistoryStore implements HistoryStore {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private static final Logger logger = Logger.getLogger(MappedHistoryStore.class.getName());
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CUTOFF_FILE = "retention.cutoff";
+    private static final String DICTIONARY_FILE = "publishers.dict";
+    private static final int FRAME_HEADER = Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final Object writeLock = new Object();
+    private final PublisherDictionary dictionary = new PublisherDictionary();
+    private final EventRecordCodec codec = new EventRecordCodec(dictionary);
+    private FileChannel dictionaryChannel;
+    private int persistedEntries;
+    // Copy-on-write, oldest first; the last segment takes the appends
+    private volatile List<Segment> segments;
+    private volatile long cutoffKey;
+    private volatile boolean closed;
+
+    private MappedHistoryStore(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    public static MappedHistoryStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    public static MappedHistoryStore open(Path directory, int segmentBytes) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Journal directory cannot be null");
+        }
+        if (segmentBytes <= FRAME_HEADER) {
+            throw new IllegalArgumentException("Segment size is too small: " + segmentBytes);
+        }
+        Files.createDirectories(directory);
+        MappedHistoryStore store = new MappedHistoryStore(directory, segmentBytes);
+        store.recover();
+        return store;
+    }
+
+    private void recover() throws IOException {
+        Path cutoffFile = directory.resolve(CUTOFF_FILE);
+        cutoffKey = Files.exists(cutoffFile) ? Long.parseLong(Files.readString(cutoffFile).trim()) : Long.MIN_VALUE;
+        loadDictionary();
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        List<Segment> recovered = new ArrayList<>();
+        long records = 0;
+        for (Path file : files) {
+            Segment segment = Segment.map(file, idOf(file), (int) Math.max(Files.size(file), segmentBytes));
+            segment.scan(cutoffKey);
+            recovered.add(segment);
+            records += segment.count;
+        }
+        if (recovered.isEmpty()) {
+            recovered.add(Segment.map(segmentPath(0), 0, segmentBytes));
+        }
+        segments = List.copyOf(recovered);
+        logger.info("Recovered " + records + " history records from " + recovered.size() + " journal segments in " + directory);
+    }
+
+    // Entries are varint-length UTF-8 strings in code order; a torn last entry is truncated away
+    private void loadDictionary() throws IOException {
+        Path file = directory.resolve(DICTIONARY_FILE);
+        dictionaryChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        int valid = 0;
+        try {
+            while (bytes.hasRemaining()) {
+                dictionary.codeOf(EventCodec.readString(bytes));
+                valid = bytes.position();
+            }
+        } catch (RuntimeException e) {
+            logger.warning("Ignoring incomplete dictionary entry at byte " + valid + " of " + file);
+        }
+        dictionaryChannel.truncate(valid);
+        dictionaryChannel.position(valid);
+        persistedEntries = dictionary.size();
+    }
+
+    private void persistDictionary() {
+        if (persistedEntries == dictionary.size()) {
+            return;
+        }
+        try {
+            while (persistedEntries < dictionary.size()) {
+                String entry = dictionary.entry(persistedEntries);
+                ByteBuffer bytes = ByteBuffer.allocate(EventCodec.stringSize(entry));
+                EventCodec.writeString(bytes, entry);
+                bytes.flip();
+                while (bytes.hasRemaining()) {
+                    dictionaryChannel.write(bytes);
+                }
+                persistedEntries++;
+            }
+            dictionaryChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist publisher dictionary in " + directory, e);
+        }
+    }
+
+    @Override
+    public void append(EventRecord record) {
+        synchronized (writeLock) {
+            ensureOpen();
+            write(record);
+        }
+    }
+
+    @Override
+    public void appendAll(List<EventRecord> records) {
+        synchronized (writeLock) {
+            ensureOpen();
+            for (EventRecord record : records) {
+                write(record);
+            }
+        }
+    }
+
+    private void write(EventRecord record) {
+        Segment active = segments.get(segments.size() - 1);
+        if (!active.tryWrite(record, codec, this::persistDictionary)) {
+            active = roll(active);
+            if (!active.tryWrite(record, codec, this::persistDictionary)) {
+                throw new IllegalArgumentException("Record does not fit in a journal segment of " + segmentBytes + " bytes");
+            }
+        }
+    }
+
+    private Segment roll(Segment full) {
+        try {
+            full.buffer.force();
+            long id = full.id + 1;
+            Segment next = Segment.map(segmentPath(id), id, segmentBytes);
+            List<Segment> updated = new ArrayList<>(segments);
+            updated.add(next);
+            segments = List.copyOf(updated);
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll journal segment in " + directory, e);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super EventRecord> action) {
+        scan(Long.MIN_VALUE, Long.MAX_VALUE, -1, null, action);
+    }
+
+    @Override
+    public long scan(long from, Predicate<? super EventRecord> action) {
+        ensureOpen();
+        long fromSegment = from >> 32;
+        long end = from;
+        for (Segment segment : segments) {
+            if (segment.id < fromSegment) {
+                continue;
+            }
+            ByteBuffer view = segment.buffer.duplicate();
+            int published = segment.published;
+            int position = segment.id == fromSegment ? Math.max(segment.start, (int) from) : segment.start;
+            while (position < published) {
+                view.position(position + FRAME_HEADER);
+                if (!action.test(codec.decode(view))) {
+                    return sequence(segment.id, position);
+                }
+                position += FRAME_HEADER + view.getInt(position);
+            }
+            end = Math.max(end, sequence(segment.id, published));
+        }
+        return end;
+    }
+
+    private static long sequence(long segmentId, int position) {
+        return segmentId << 32 | position;
+    }
+
+    @Override
+    public List<EventRecord> range(Instant start, Instant end) {
+        return collect(start, end, -1, null);
+    }
+
+    @Override
+    public List<EventRecord> rangeByType(EventTypes type, Instant start, Instant end) {
+        return collect(start, end, type.ordinal(), null);
+    }
+
+    @Override
+    public List<EventRecord> rangeByPublisher(String publisherId, Instant start, Instant end) {
+        // Ids match case-insensitively, so several dictionary codes may stand for the same publisher
+        String key = TimeKeys.publisherKey(publisherId);
+        BitSet codes = new BitSet();
+        for (int code = 0; code < dictionary.size(); code++) {
+            if (TimeKeys.publisherKey(dictionary.entry(code)).equals(key)) {
+                codes.set(code);
+            }
+        }
+        return codes.isEmpty() ? List.of() : collect(start, end, -1, codes);
+    }
+
+    private List<EventRecord> collect(Instant start, Instant end, int type, BitSet publisherCodes) {
+        List<EventRecord> result = new ArrayList<>();
+        scan(TimeKeys.of(start), TimeKeys.of(end), type, publisherCodes, result::add);
+        return result;
+    }
+
+    // Filters on the mapped bytes and decodes only matching records
+    private void scan(long fromKey, long toKey, int type, BitSet publisherCodes, Consumer<? super EventRecord> action) {
+        ensureOpen();
+        if (fromKey > toKey) {
+            return;
+        }
+        for (Segment segment : segments) {
+            if (segment.count == 0 || segment.maxKey < fromKey || segment.minKey > toKey) {
+                continue;
+            }
+            ByteBuffer view = segment.buffer.duplicate();
+            int end = segment.published;
+            int position = segment.start;
+            while (position < end) {
+                int length = view.getInt(position);
+                int payload = position + FRAME_HEADER;
+                position = payload + length;
+                long key = EventRecordCodec.timeKeyAt(view, payload);
+                if (key < fromKey || key > toKey) continue;
+                if (type >= 0 && EventRecordCodec.typeAt(view, payload) != type) continue;
+                if (publisherCodes != null) {
+                    int code = EventRecordCodec.publisherCodeAt(view, payload);
+                    if (code < 0 || !publisherCodes.get(code)) continue;
+                }
+                view.position(payload);
+                action.accept(codec.decode(view));
+            }
+        }
+    }
+
+    @Override
+    public void pruneBefore(Instant cutoff, Consumer<? super EventRecord> onDrop) {
+        long key = TimeKeys.of(cutoff);
+        synchronized (writeLock) {
+            ensureOpen();
+            if (key <= cutoffKey) {
+                return;
+            }
+            List<Segment> kept = new ArrayList<>();
+            List<Segment> current = segments;
+            for (int i = 0; i < current.size(); i++) {
+                Segment segment = current.get(i);
+                boolean active = i == current.size() - 1;
+                if (!active && kept.isEmpty() && segment.maxKey < key) {
+                    segment.forEachVisible(codec, onDrop);
+                    segment.delete();
+                    continue;
+                }
+                if (kept.isEmpty()) {
+                    segment.dropBefore(key, codec, onDrop);
+                }
+                kept.add(segment);
+            }
+            segments = List.copyOf(kept);
+            cutoffKey = key;
+            writeCutoff(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (writeLock) {
+            ensureOpen();
+            List<Segment> current = segments;
+            long nextId = current.get(current.size() - 1).id + 1;
+            try {
+                Segment fresh = Segment.map(segmentPath(nextId), nextId, segmentBytes);
+                segments = List.of(fresh);
+                for (Segment segment : current) {
+                    segment.delete();
+                }
+                Files.deleteIfExists(directory.resolve(CUTOFF_FILE));
+                cutoffKey = Long.MIN_VALUE;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to clear journal in " + directory, e);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        synchronized (writeLock) {
+            ensureOpen();
+            segments.get(segments.size() - 1).buffer.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            try {
+                dictionaryChannel.close();
+            } catch (IOException e) {
+                logger.warning("Failed to close publisher dictionary: " + e.getMessage());
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("History store is closed");
+        }
+    }
+
+    private void writeCutoff(long key) {
+        try {
+            Files.writeString(directory.resolve(CUTOFF_FILE), Long.toString(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist retention cutoff in " + directory, e);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static long idOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        // Written by the appending thread only; published last so readers see complete frames
+        private volatile int published;
+        private volatile int start;
+        private volatile long minKey = Long.MAX_VALUE;
+        private volatile long maxKey = Long.MIN_VALUE;
+        private volatile int count;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, long id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(id, path, channel, buffer);
+        }
+
+        // Rebuilds the summary from the frame headers; stops at the first incomplete frame
+        void scan(long cutoffKey) {
+            int position = 0;
+            int capacity = buffer.capacity();
+            boolean leading = true;
+            while (position + FRAME_HEADER <= capacity) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + FRAME_HEADER + length > capacity) {
+                    break;
+                }
+                long key = EventRecordCodec.timeKeyAt(buffer, position + FRAME_HEADER);
+                if (leading && key < cutoffKey) {
+                    start = position + FRAME_HEADER + length;
+                } else {
+                    leading = false;
+                    summarize(key);
+                }
+                position += FRAME_HEADER + length;
+            }
+            published = position;
+        }
+
+        // beforePublish runs after the record is encoded and before it becomes visible
+        boolean tryWrite(EventRecord record, EventRecordCodec codec, Runnable beforePublish) {
+            int position = published;
+            if (position + FRAME_HEADER >= buffer.capacity()) {
+                return false;
+            }
+            ByteBuffer view = buffer.duplicate();
+            view.position(position + FRAME_HEADER);
+            try {
+                codec.encode(record, view);
+            } catch (BufferOverflowException e) {
+                return false;
+            }
+            beforePublish.run();
+            int length = view.position() - position - FRAME_HEADER;
+            buffer.putInt(position, length);
+            summarize(TimeKeys.of(record.getTimestamp()));
+            published = position + FRAME_HEADER + length;
+            return true;
+        }
+
+        private void summarize(long key) {
+            minKey = Math.min(minKey, key);
+            maxKey = Math.max(maxKey, key);
+            count++;
+        }
+
+        void forEachVisible(EventRecordCodec codec, Consumer<? super EventRecord> action) {
+            ByteBuffer view = buffer.duplicate();
+            int position = start;
+            while (position < published) {
+                int length = view.getInt(position);
+                view.position(position + FRAME_HEADER);
+                action.accept(codec.decode(view));
+                position += FRAME_HEADER + length;
+            }
+        }
+
+        // Moves the start past leading records older than key; the summary keeps its old minimum
+        void dropBefore(long key, EventRecordCodec codec, Consumer<? super EventRecord> onDrop) {
+            ByteBuffer view = buffer.duplicate();
+            int position = start;
+            int dropped = 0;
+            while (position < published) {
+                int length = view.getInt(position);
+                if (EventRecordCodec.timeKeyAt(view, position + FRAME_HEADER) >= key) {
+                    break;
+                }
+                view.position(position + FRAME_HEADER);
+                onDrop.accept(codec.decode(view));
+                position += FRAME_HEADER + length;
+                dropped++;
+            }
+            start = position;
+            count -= dropped;
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                logger.warning("Failed to close journal segment " + path + ": " + e.getMessage());
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warning("Failed to delete journal segment " + path + ": " + e.getMessage());
+            }
+        }
+    }
+}
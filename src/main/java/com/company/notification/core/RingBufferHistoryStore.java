@@ -0,0 +1,232 @@
+package com.company.notification.core;
+
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.EventTypes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-capacity {@link HistoryStore} that keeps the most recent records and overwrites the
+ * oldest one once full. All slots are allocated up front, so memory stays flat however long the
+ * process runs.
+ * <p>
+ * Next to each record the store keeps its time key, the running maximum of the keys appended so
+ * far, its type and its canonical publisher key in parallel arrays. The running maximum never
+ * decreases, so the first record of a time range is found by binary search even when timestamps
+ * arrive slightly out of order; type and publisher filters then run over the parallel arrays
+ * without touching the records.
+ */
+public class RingBufferHistoryStore implements HistoryStore {
+
+    private static final byte NO_TYPE = -1;
+
+    private final int capacity;
+    private final EventRecord[] records;
+    private final long[] timeKeys;
+    private final long[] maxKeys;
+    private final byte[] types;
+    private final String[] publisherKeys;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Sequence numbers of the oldest retained record and of the next append; slot = sequence % capacity
+    private long first;
+    private long next;
+    private long maxKey = Long.MIN_VALUE;
+    private volatile Consumer<? super EventRecord> evictionListener;
+
+    public RingBufferHistoryStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.records = new EventRecord[capacity];
+        this.timeKeys = new long[capacity];
+        this.maxKeys = new long[capacity];
+        this.types = new byte[capacity];
+        this.publisherKeys = new String[capacity];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return (int) (next - first);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void setEvictionListener(Consumer<? super EventRecord> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public void append(EventRecord record) {
+        lock.writeLock().lock();
+        try {
+            put(record);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void appendAll(List<EventRecord> records) {
+        lock.writeLock().lock();
+        try {
+            for (EventRecord record : records) {
+                put(record);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(EventRecord record) {
+        if (next - first == capacity) {
+            EventRecord evicted = records[slot(first)];
+            first++;
+            Consumer<? super EventRecord> listener = evictionListener;
+            if (listener != null) {
+                listener.accept(evicted);
+            }
+        }
+        int slot = slot(next);
+        long key = TimeKeys.of(record.getTimestamp());
+        maxKey = Math.max(maxKey, key);
+        EventTypes type = record.getEvent().getType();
+        records[slot] = record;
+        timeKeys[slot] = key;
+        maxKeys[slot] = maxKey;
+        types[slot] = type == null ? NO_TYPE : (byte) type.ordinal();
+        publisherKeys[slot] = record.getPublisherId() == null ? null : TimeKeys.publisherKey(record.getPublisherId());
+        next++;
+    }
+
+    // Iterates a snapshot, so the action may call back into the store
+    @Override
+    public void forEach(Consumer<? super EventRecord> action) {
+        range(Instant.MIN, Instant.MAX).forEach(action);
+    }
+
+    // Runs the action under the read lock, so it must not write to this store
+    @Override
+    public long scan(long from, Predicate<? super EventRecord> action) {
+        lock.readLock().lock();
+        try {
+            for (long seq = Math.max(from, first); seq < next; seq++) {
+                if (!action.test(records[slot(seq)])) {
+                    return seq;
+                }
+            }
+            return Math.max(from, next);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EventRecord> range(Instant start, Instant end) {
+        return collect(start, end, NO_TYPE, null);
+    }
+
+    @Override
+    public List<EventRecord> rangeByType(EventTypes type, Instant start, Instant end) {
+        return collect(start, end, (byte) type.ordinal(), null);
+    }
+
+    @Override
+    public List<EventRecord> rangeByPublisher(String publisherId, Instant start, Instant end) {
+        return collect(start, end, NO_TYPE, TimeKeys.publisherKey(publisherId));
+    }
+
+    private List<EventRecord> collect(Instant start, Instant end, byte type, String publisherKey) {
+        long fromKey = TimeKeys.of(start);
+        long toKey = TimeKeys.of(end);
+        List<EventRecord> result = new ArrayList<>();
+        if (fromKey > toKey) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            for (long seq = firstAtOrAfter(fromKey); seq < next; seq++) {
+                int slot = slot(seq);
+                long key = timeKeys[slot];
+                if (key >= fromKey && key <= toKey
+                        && (type == NO_TYPE || types[slot] == type)
+                        && (publisherKey == null || publisherKey.equals(publisherKeys[slot]))) {
+                    result.add(records[slot]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // First retained sequence whose running maximum reaches key; every earlier record is older than key
+    private long firstAtOrAfter(long key) {
+        long lo = first;
+        long hi = next;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (maxKeys[slot(mid)] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @Override
+    public void pruneBefore(Instant cutoff, Consumer<? super EventRecord> onDrop) {
+        long cutoffKey = TimeKeys.of(cutoff);
+        lock.writeLock().lock();
+        try {
+            while (first < next && timeKeys[slot(first)] < cutoffKey) {
+                int slot = slot(first);
+                EventRecord dropped = records[slot];
+                release(slot);
+                first++;
+                onDrop.accept(dropped);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(records, null);
+            Arrays.fill(publisherKeys, null);
+            first = next;
+            maxKey = Long.MIN_VALUE;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lets a pruned record be collected before its slot is reused
+    private void release(int slot) {
+        records[slot] = null;
+        publisherKeys[slot] = null;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,280 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.model.publisher.Publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Disruptor-style publish pipeline in front of an {@link EventBus}. Publishers claim a sequence
+ * in a pre-allocated ring, write the publisher/event references into the slot and publish it.
+ * Three consumer stages (subscriber routing, admin fan-out and history append) each run on
+ * their own thread, track their own sequence and process every published slot in order, in
+ * batches of whatever is available.
+ * <p>
+ * A publisher only waits when the ring is full, i.e. when the slowest stage is a whole ring
+ * behind. Idle stages park until a publish unparks them, so an idle pipeline costs no wakeups.
+ * The pipeline is opt-in: attach it with {@link EventBus#setPipeline(RingBufferPipeline)}.
+ */
+public class RingBufferPipeline {
+
+    public enum ProducerType {
+        // Only one thread ever calls publish; claiming a slot needs no CAS
+        SINGLE,
+        MULTI
+    }
+
+    private static final Logger logger = Logger.getLogger(RingBufferPipeline.class.getName());
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final ProducerType producerType;
+    private final int bufferSize;
+    private final int indexMask;
+    private final int indexShift;
+
+    private final Publisher[] publishers;
+    private final Event[] events;
+
+    // MULTI: last claimed sequence. SINGLE: last published sequence.
+    private final AtomicLong cursor = new AtomicLong(-1);
+    // MULTI only: round number of the last publish into each slot
+    private final AtomicIntegerArray availableRounds;
+    // Written by the single producer only; volatile so shutdown() sees the last claim
+    private volatile long singleProducerNext;
+
+    private final List<Stage> stages = new ArrayList<>();
+    private volatile long cachedGatingSequence = -1;
+    private volatile boolean running;
+    private volatile boolean accepting;
+    // Publishers past the accepting check; shutdown() waits for them before reading the last sequence
+    private final AtomicInteger publishing = new AtomicInteger();
+
+    public RingBufferPipeline(EventBus eventBus, int bufferSize) {
+        this(eventBus, bufferSize, ProducerType.MULTI);
+    }
+
+    public RingBufferPipeline(EventBus eventBus, int bufferSize, ProducerType producerType) {
+        if (eventBus == null) {
+            throw new IllegalArgumentException("Event bus cannot be null");
+        }
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of two");
+        }
+        if (producerType == null) {
+            throw new IllegalArgumentException("Producer type cannot be null");
+        }
+        this.producerType = producerType;
+        this.bufferSize = bufferSize;
+        this.indexMask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.publishers = new Publisher[bufferSize];
+        this.events = new Event[bufferSize];
+        this.availableRounds = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            availableRounds.set(i, -1);
+        }
+
+        stages.add(new Stage("Route", (publisher, event) -> eventBus.routeToSubscribers(publisher, event)));
+        stages.add(new Stage("Admin", (publisher, event) -> eventBus.routeToAdmins(event)));
+        stages.add(new Stage("History", eventBus::recordHistory));
+    }
+
+    public synchronized void start() {
+        if (running) {
+            logger.info("Ring buffer pipeline already started");
+            return;
+        }
+        running = true;
+        accepting = true;
+        for (Stage stage : stages) {
+            Thread t = new Thread(stage);
+            t.setDaemon(true);
+            t.setName("RingBuffer-" + stage.name);
+            stage.thread = t;
+            t.start();
+        }
+        logger.info("Ring buffer pipeline started with " + bufferSize + " slots");
+    }
+
+    public long publish(Publisher publisher, Event event) {
+        if (publisher == null) throw new IllegalArgumentException("Publisher cannot be null");
+        if (event == null) throw new IllegalArgumentException("Event cannot be null");
+
+        publishing.incrementAndGet();
+        try {
+            if (!accepting) throw new IllegalStateException("Ring buffer pipeline is not running");
+
+            long sequence = producerType == ProducerType.SINGLE ? singleProducerNext++ : cursor.incrementAndGet();
+            waitForCapacity(sequence);
+
+            int index = (int) sequence & indexMask;
+            publishers[index] = publisher;
+            events[index] = event;
+
+            // The volatile write below makes the slot contents visible to the stages
+            if (producerType == ProducerType.SINGLE) {
+                cursor.set(sequence);
+            } else {
+                availableRounds.set(index, (int) (sequence >>> indexShift));
+            }
+            signalStages();
+            return sequence;
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    // Stops accepting publishes, lets every stage catch up with what was published, then stops the stage threads
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        accepting = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        // A publisher that saw accepting may still claim a slot; the stages keep running so it can get one
+        while (publishing.get() > 0 && System.nanoTime() < deadline) {
+            signalStages();
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        long last = producerType == ProducerType.SINGLE ? singleProducerNext - 1 : cursor.get();
+        while (minimumStageSequence() < last && System.nanoTime() < deadline) {
+            signalStages();
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        running = false;
+        signalStages();
+        logger.info("Ring buffer pipeline shut down at sequence " + minimumStageSequence());
+    }
+
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public long getStageSequence(String stageName) {
+        for (Stage stage : stages) {
+            if (stage.name.equalsIgnoreCase(stageName)) {
+                return stage.sequence.get();
+            }
+        }
+        throw new IllegalArgumentException("Unknown stage: " + stageName);
+    }
+
+    private void waitForCapacity(long sequence) {
+        long wrapPoint = sequence - bufferSize;
+        if (wrapPoint <= cachedGatingSequence) {
+            return;
+        }
+        int tries = 0;
+        long gating;
+        while (wrapPoint > (gating = minimumStageSequence())) {
+            if (!running) {
+                // The stages are gone and will never free the slot
+                throw new IllegalStateException("Ring buffer pipeline is not running");
+            }
+            tries = backOff(tries);
+        }
+        cachedGatingSequence = gating;
+    }
+
+    private long minimumStageSequence() {
+        long min = Long.MAX_VALUE;
+        for (Stage stage : stages) {
+            min = Math.min(min, stage.sequence.get());
+        }
+        return min;
+    }
+
+    private long highestPublished(long from) {
+        if (producerType == ProducerType.SINGLE) {
+            return cursor.get();
+        }
+        long claimed = cursor.get();
+        long sequence = from;
+        while (sequence <= claimed && availableRounds.get((int) sequence & indexMask) == (int) (sequence >>> indexShift)) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    private void signalStages() {
+        for (Stage stage : stages) {
+            if (stage.parked) {
+                LockSupport.unpark(stage.thread);
+            }
+        }
+    }
+
+    private static int backOff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES * 2) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return tries + 1;
+    }
+
+    @FunctionalInterface
+    private interface StageHandler {
+        void onEvent(Publisher publisher, Event event);
+    }
+
+    private final class Stage implements Runnable {
+        private final String name;
+        private final StageHandler handler;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private volatile Thread thread;
+        private volatile boolean parked;
+
+        private Stage(String name, StageHandler handler) {
+            this.name = name;
+            this.handler = handler;
+        }
+
+        @Override
+        public void run() {
+            int tries = 0;
+            while (running) {
+                long next = sequence.get() + 1;
+                long available = highestPublished(next);
+                if (available < next) {
+                    if (tries >= SPIN_TRIES * 2) {
+                        // Publish the flag, then re-check: a producer either sees it and unparks, or we see its slot
+                        parked = true;
+                        if (running && highestPublished(next) < next) {
+                            LockSupport.park(this);
+                        }
+                        parked = false;
+                    } else {
+                        tries = backOff(tries);
+                    }
+                    continue;
+                }
+                tries = 0;
+                for (long s = next; s <= available; s++) {
+                    int index = (int) s & indexMask;
+                    try {
+                        handler.onEvent(publishers[index], events[index]);
+                    } catch (RuntimeException e) {
+                        logger.warning(name + " stage failed at sequence " + s + ": " + e.getMessage());
+                    }
+                }
+                // One release per batch rather than per event
+                sequence.set(available);
+            }
+        }
+    }
+}
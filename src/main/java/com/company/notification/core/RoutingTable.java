@@ -0,0 +1,170 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.Priority;
+import com.company.notification.filters.EventFilter;
+import com.company.notification.filters.FilterMask;
+import com.company.notification.model.publisher.Publisher;
+import com.company.notification.model.subscriber.Subscriber;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of the bus routing state. A new table is built by {@link EventBus}
+ * whenever subscriptions or filters change, so the publish path only needs a volatile
+ * read followed by a loop over flat arrays.
+ * <p>
+ * Subscribers whose filter declares a {@link EventFilter#staticMask()} are additionally indexed
+ * by ({@link EventTypes}, {@link Priority}) bucket, so an event only reaches the static
+ * subscribers that accept its bucket plus the subscribers with opaque filters.
+ * <p>
+ * Topic subscriptions are folded into the route of every registered publisher whose topic they
+ * match. Publishers the bus has never seen are resolved against the snapshot's own copy of the
+ * topic trie once per concrete topic and cached.
+ */
+final class RoutingTable {
+
+    static final RoutingTable EMPTY = new RoutingTable(Map.of(), Route.EMPTY, new TopicTrie(), Map.of());
+
+    private final Map<Publisher, Route> routes;
+    private final Route adminRoute;
+    private final TopicTrie topics;
+    private final Map<Subscriber, EventFilter> filters;
+    private final Map<String, Route> topicRoutes = new ConcurrentHashMap<>();
+
+    private RoutingTable(Map<Publisher, Route> routes, Route adminRoute, TopicTrie topics, Map<Subscriber, EventFilter> filters) {
+        this.routes = routes;
+        this.adminRoute = adminRoute;
+        this.topics = topics;
+        this.filters = filters;
+    }
+
+    static RoutingTable build(Map<Publisher, Set<Subscriber>> publisherSubscribers,
+                              Set<Subscriber> admins,
+                              Map<Subscriber, EventFilter> filters,
+                              EventFilter defaultAdminFilter,
+                              TopicTrie topicTrie) {
+        TopicTrie topics = topicTrie.copy();
+        Map<Subscriber, EventFilter> filterSnapshot = Map.copyOf(filters);
+
+        Map<Publisher, Route> routes = new HashMap<>();
+        publisherSubscribers.forEach((publisher, subscribers) -> {
+            Set<Subscriber> all = new LinkedHashSet<>(subscribers);
+            all.addAll(topics.match(publisher.getTopic()));
+            Route route = routeOf(all, filterSnapshot);
+            if (route.size() > 0) {
+                routes.put(publisher, route);
+            }
+        });
+
+        List<Subscriber> routedAdmins = new ArrayList<>(admins.size());
+        List<EventFilter> adminFilters = new ArrayList<>(admins.size());
+        for (Subscriber admin : admins) {
+            routedAdmins.add(admin);
+            adminFilters.add(Objects.requireNonNullElse(filters.get(admin), defaultAdminFilter));
+        }
+
+        return new RoutingTable(Map.copyOf(routes), new Route(routedAdmins, adminFilters), topics, filterSnapshot);
+    }
+
+    private static Route routeOf(Collection<Subscriber> subscribers, Map<Subscriber, EventFilter> filters) {
+        List<Subscriber> routed = new ArrayList<>(subscribers.size());
+        List<EventFilter> routedFilters = new ArrayList<>(subscribers.size());
+        for (Subscriber subscriber : subscribers) {
+            EventFilter filter = filters.get(subscriber);
+            // Subscribers without a filter never receive events, so they are left out of the route
+            if (filter != null) {
+                routed.add(subscriber);
+                routedFilters.add(filter);
+            }
+        }
+        return routed.isEmpty() ? Route.EMPTY : new Route(routed, routedFilters);
+    }
+
+    Route routeFor(Publisher publisher) {
+        Route route = routes.get(publisher);
+        if (route != null) {
+            return route;
+        }
+        String topic = publisher.getTopic();
+        if (topic == null || topics.isEmpty()) {
+            return Route.EMPTY;
+        }
+        return topicRoutes.computeIfAbsent(topic, t -> routeOf(topics.match(t), filters));
+    }
+
+    Route adminRoute() {
+        return adminRoute;
+    }
+
+    static final class Route {
+        static final Route EMPTY = new Route(List.of(), List.of());
+
+        // Every routed subscriber; used for batches and for events without type or priority
+        final Subscriber[] subscribers;
+        final EventFilter[] filters;
+
+        // Subscribers with opaque filters, evaluated for every event
+        final Subscriber[] dynamicSubscribers;
+        final EventFilter[] dynamicFilters;
+
+        // Static-mask subscribers per bucket; every entry accepts events of that bucket
+        final Subscriber[][] bucketSubscribers;
+        final EventFilter[][] bucketFilters;
+
+        private Route(List<Subscriber> subscribers, List<EventFilter> filters) {
+            this.subscribers = subscribers.toArray(new Subscriber[0]);
+            this.filters = filters.toArray(new EventFilter[0]);
+
+            int bucketCount = FilterMask.bucketCount();
+            List<Subscriber> dynamic = new ArrayList<>();
+            List<EventFilter> dynamicFilterList = new ArrayList<>();
+            List<List<Subscriber>> buckets = new ArrayList<>(bucketCount);
+            List<List<EventFilter>> bucketFilterLists = new ArrayList<>(bucketCount);
+            for (int b = 0; b < bucketCount; b++) {
+                buckets.add(new ArrayList<>());
+                bucketFilterLists.add(new ArrayList<>());
+            }
+
+            for (int i = 0; i < this.subscribers.length; i++) {
+                int mask = this.filters[i].staticMask();
+                if (mask == FilterMask.DYNAMIC) {
+                    dynamic.add(this.subscribers[i]);
+                    dynamicFilterList.add(this.filters[i]);
+                    continue;
+                }
+                for (int b = 0; b < bucketCount; b++) {
+                    if (FilterMask.accepts(mask, b)) {
+                        buckets.get(b).add(this.subscribers[i]);
+                        bucketFilterLists.get(b).add(this.filters[i]);
+                    }
+                }
+            }
+
+            this.dynamicSubscribers = dynamic.toArray(new Subscriber[0]);
+            this.dynamicFilters = dynamicFilterList.toArray(new EventFilter[0]);
+            this.bucketSubscribers = new Subscriber[bucketCount][];
+            this.bucketFilters = new EventFilter[bucketCount][];
+            for (int b = 0; b < bucketCount; b++) {
+                bucketSubscribers[b] = buckets.get(b).toArray(new Subscriber[0]);
+                bucketFilters[b] = bucketFilterLists.get(b).toArray(new EventFilter[0]);
+            }
+        }
+
+        int size() {
+            return subscribers.length;
+        }
+
+        // -1 when the event cannot be placed in a bucket and every filter has to run
+        static int bucketOf(Event event) {
+            EventTypes type = event.getType();
+            Priority priority = event.getPriority();
+            if (type == null || priority == null) {
+                return -1;
+            }
+            return FilterMask.bucketIndex(type, priority);
+        }
+    }
+}
@@ -1,70 +1,196 @@
 package com.company.notification.core;
 
+import com.company.notification.event.Event;
+import com.company.notification.event.HeartBeatEvent;
+import com.company.notification.event.Priority;
 import com.company.notification.model.publisher.Publisher;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
-public class SchedulerManager {
+/**
+ * Runs heartbeat schedules on one timing wheel. Schedules with the same interval, phase (the
+ * offset into the interval they fire on) and catch-up policy share a group: the group wakes once per period
+ * and publishes every member's heartbeat through a single {@link EventBus#publishFromPublishers}
+ * pass, so a thousand publishers on a 5 second heartbeat cost at most five wakeups per period.
+ * <p>
+ * Each schedule keeps its own lateness histogram, fed from its group's runs and kept across
+ * pauses. Ticks never ask the bus about subscribers. The manager listens for subscription changes
+ * instead: a schedule whose publisher loses its last subscriber is paused (it leaves its group
+ * but stays registered) and resumes when a subscriber arrives again.
+ */
+public class SchedulerManager implements SubscriptionListener {
     private final EventBus eventBus;
-    private final Map<Publisher, EventScheduler> schedulerMap;
+    private final Map<Publisher, Schedule> schedulerMap;
+    // Guarded by itself; also serialises joining and leaving groups
+    private final Map<GroupKey, HeartbeatGroup> groups = new HashMap<>();
+    private final TimingWheel wheel;
     private static final Logger logger = Logger.getLogger(SchedulerManager.class.getName());
+    private static final long PHASE_ALIGNMENT_MILLIS = 1000;
 
     public SchedulerManager(EventBus eventBus) {
+        this(eventBus, TimingWheel.shared());
+    }
+
+    public SchedulerManager(EventBus eventBus, TimingWheel wheel) {
+        if (eventBus == null) {
+            throw new IllegalArgumentException("Event bus cannot be null");
+        }
+        if (wheel == null) {
+            throw new IllegalArgumentException("Timing wheel cannot be null");
+        }
         this.eventBus = eventBus;
+        this.wheel = wheel;
         this.schedulerMap = new ConcurrentHashMap<>();
+        eventBus.addSubscriptionListener(this);
     }
 
     public void registerScheduler(Publisher publisher, long intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            throw new IllegalArgumentException("Interval seconds must be greater than 0");
+        }
+        registerScheduler(publisher, Duration.ofSeconds(intervalSeconds), TimingWheel.CatchUpPolicy.COALESCE);
+    }
 
+    // Intervals are kept to the millisecond; the wheel's tick bounds the jitter of each run
+    public void registerScheduler(Publisher publisher, Duration interval, TimingWheel.CatchUpPolicy catchUpPolicy) {
+        if (publisher == null) {
+            throw new IllegalArgumentException("Publisher cannot be null");
+        }
+        if (interval == null || interval.toMillis() <= 0) {
+            throw new IllegalArgumentException("Interval must be at least 1 ms");
+        }
+        if (catchUpPolicy == null) {
+            throw new IllegalArgumentException("Catch-up policy cannot be null");
+        }
 
         // Step 1: Register the publisher first (safe even if already registered)
         eventBus.registerPublisher(publisher);
 
-        // Step 2: Create and start the scheduler
-        EventScheduler scheduler = new EventScheduler(eventBus, publisher, intervalSeconds);
-        scheduler.start();
-
-        // Step 3: Only put if it's running
-        if (!scheduler.isShutdown()) {
-            EventScheduler existing = schedulerMap.putIfAbsent(publisher, scheduler);
-
-            if (existing == null) {
+        // Step 2: Run it now if someone is listening, otherwise wait for the first subscriber
+        synchronized (groups) {
+            if (schedulerMap.containsKey(publisher)) {
+                logger.info("Scheduler already exists for " + publisher.getName());
+                return;
+            }
+            Schedule schedule = new Schedule(interval.toMillis(), catchUpPolicy);
+            schedulerMap.put(publisher, schedule);
+            if (eventBus.hasSubscribers(publisher)) {
+                join(publisher, schedule);
                 logger.info("Scheduler registered for " + publisher.getName());
             } else {
-                // A scheduler was already registered concurrently
-                logger.info("Scheduler already exists for " + publisher.getName() + ". Stopping the newly created one.");
-                scheduler.shutdown();
+                logger.info("Scheduler registered for " + publisher.getName() + ", paused until it has subscribers");
             }
+        }
+    }
 
-        } else {
-            logger.warning("Scheduler not started for " + publisher.getName() + " (no subscribers).");
+    @Override
+    public void onFirstSubscriber(Publisher publisher) {
+        synchronized (groups) {
+            Schedule schedule = schedulerMap.get(publisher);
+            if (schedule != null && schedule.group == null) {
+                join(publisher, schedule);
+                logger.info("Scheduler resumed for " + publisher.getName());
+            }
         }
     }
 
-    public void shutdownScheduler(Publisher publisher) {
-        EventScheduler scheduler = schedulerMap.remove(publisher);
-        if (scheduler != null) {
-            scheduler.shutdown();
+    @Override
+    public void onLastSubscriberRemoved(Publisher publisher) {
+        synchronized (groups) {
+            Schedule schedule = schedulerMap.get(publisher);
+            if (schedule != null && schedule.group != null) {
+                leave(publisher, schedule);
+                logger.info("Scheduler paused for " + publisher.getName() + " (no subscribers)");
+            }
         }
     }
 
-    public void shutdownAllSchedulers() {
-        schedulerMap.forEach((publisher, scheduler) -> scheduler.shutdown());
-        System.out.println("Scheduler shutdown for all publishers");
-        schedulerMap.clear();
+    // Caller must hold groups. First runs are aligned to the next whole second (or whole interval, if
+    // shorter), which caps the number of phases, and therefore groups, per interval
+    private void join(Publisher publisher, Schedule schedule) {
+        long alignMillis = Math.min(schedule.intervalMillis, PHASE_ALIGNMENT_MILLIS);
+        long nowMillis = System.currentTimeMillis();
+        long firstRunMillis = -Math.floorDiv(-nowMillis, alignMillis) * alignMillis;
+        GroupKey key = new GroupKey(schedule.intervalMillis, firstRunMillis % schedule.intervalMillis, schedule.catchUpPolicy);
+        HeartbeatGroup group = groups.computeIfAbsent(key, k -> startGroup(k, firstRunMillis - nowMillis));
+        group.members.put(publisher, schedule);
+        schedule.group = group;
+    }
+
+    // Caller must hold groups; the group's wheel entry is cancelled once its last member leaves
+    private void leave(Publisher publisher, Schedule schedule) {
+        HeartbeatGroup group = schedule.group;
+        if (group == null) {
+            return;
+        }
+        schedule.group = null;
+        group.members.remove(publisher);
+        if (group.members.isEmpty()) {
+            group.timeout.cancel();
+            groups.remove(group.key);
+        }
     }
 
+    private HeartbeatGroup startGroup(GroupKey key, long initialDelayMillis) {
+        HeartbeatGroup group = new HeartbeatGroup(key);
+        group.timeout = wheel.scheduleAtFixedRate(() -> fire(group), Duration.ofMillis(initialDelayMillis),
+                Duration.ofMillis(key.intervalMillis()), key.catchUpPolicy());
+        return group;
+    }
 
+    private void fire(HeartbeatGroup group) {
+        // Null only if the very first run beats startGroup's return; that run goes unrecorded
+        TimingWheel.Timeout timeout = group.timeout;
+        long latenessNanos = timeout == null ? -1 : timeout.currentRunLatenessNanos();
+        List<Publisher> publishers = new ArrayList<>(group.members.size());
+        List<Event> heartbeats = new ArrayList<>(group.members.size());
+        for (Map.Entry<Publisher, Schedule> member : group.members.entrySet()) {
+            Publisher publisher = member.getKey();
+            if (latenessNanos >= 0) {
+                member.getValue().lateness.record(latenessNanos);
+            }
+            publishers.add(publisher);
+            heartbeats.add(new HeartBeatEvent(publisher.getId(), Priority.MEDIUM));
+        }
+        if (!publishers.isEmpty()) {
+            eventBus.publishFromPublishers(publishers, heartbeats);
+        }
+    }
 
+    private boolean remove(Publisher publisher) {
+        synchronized (groups) {
+            Schedule schedule = schedulerMap.remove(publisher);
+            if (schedule == null) {
+                return false;
+            }
+            leave(publisher, schedule);
+            return true;
+        }
+    }
 
+    public void shutdownScheduler(Publisher publisher) {
+        remove(publisher);
+    }
 
+    public void shutdownAllSchedulers() {
+        eventBus.removeSubscriptionListener(this);
+        synchronized (groups) {
+            groups.values().forEach(group -> group.timeout.cancel());
+            groups.clear();
+            schedulerMap.clear();
+        }
+        System.out.println("Scheduler shutdown for all publishers");
+    }
 
     public void removeScheduler(Publisher publisher) {
-        EventScheduler scheduler = schedulerMap.remove(publisher);
-        if (scheduler != null) {
-            scheduler.shutdown();
+        if (remove(publisher)) {
             logger.info("Scheduler removed for publisher: " + publisher.getName());
         }
     }
@@ -74,10 +200,51 @@ public class SchedulerManager {
         return schedulerMap.containsKey(publisher);
     }
 
+    // Registered but waiting for its publisher to get a subscriber
+    public boolean isPaused(Publisher publisher) {
+        synchronized (groups) {
+            Schedule schedule = schedulerMap.get(publisher);
+            return schedule != null && schedule.group == null;
+        }
+    }
+
+    // Lateness of the schedule's own runs, including those before a pause; empty once unregistered
+    public Optional<LatenessHistogram> getLateness(Publisher publisher) {
+        Schedule schedule = schedulerMap.get(publisher);
+        return schedule == null ? Optional.empty() : Optional.of(schedule.lateness);
+    }
 
+    // Number of coalesced wheel entries currently driving all registered schedules
+    public int getGroupCount() {
+        synchronized (groups) {
+            return groups.size();
+        }
+    }
 
+    private record GroupKey(long intervalMillis, long phaseMillis, TimingWheel.CatchUpPolicy catchUpPolicy) {
+    }
 
+    // Mutable fields guarded by groups
+    private static final class Schedule {
+        private final long intervalMillis;
+        private final TimingWheel.CatchUpPolicy catchUpPolicy;
+        private final LatenessHistogram lateness = new LatenessHistogram();
+        private HeartbeatGroup group;
 
+        private Schedule(long intervalMillis, TimingWheel.CatchUpPolicy catchUpPolicy) {
+            this.intervalMillis = intervalMillis;
+            this.catchUpPolicy = catchUpPolicy;
+        }
+    }
 
+    private static final class HeartbeatGroup {
+        private final GroupKey key;
+        private final Map<Publisher, Schedule> members = new ConcurrentHashMap<>();
+        // Volatile: read by the wheel worker running the group
+        private volatile TimingWheel.Timeout timeout;
 
-}
\ No newline at end of file
+        private HeartbeatGroup(GroupKey key) {
+            this.key = key;
+        }
+    }
+}
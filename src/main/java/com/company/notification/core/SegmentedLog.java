@@ -0,0 +1,440 @@
+package com.company.notification.core;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Append-only log made of fixed-size segments. Writers claim slots in the tail segment with a
+ * single atomic increment and link a new segment when it fills up, so appends never copy
+ * existing records and never take a lock. Once every slot of a segment is written the segment
+ * is sealed and never changes again, which lets readers walk the log without defensive copies.
+ * <p>
+ * Readers see a consistent prefix: iteration stops at the first slot that has been claimed but
+ * not yet written.
+ * <p>
+ * When the log is given an order key, sealing also records the segment's min and max key and
+ * whether it is sorted. Together with a directory of segments ordered by first key this gives
+ * {@link #range(long, long)} in O(log n + k) for logs appended in near-monotonic key order.
+ */
+final class SegmentedLog<T> implements Iterable<T> {
+
+    static final int DEFAULT_SEGMENT_SIZE = 4096;
+
+    private final int segmentSize;
+    private final ToLongFunction<? super T> orderKey;
+    private volatile Segment<T> head;
+    private final AtomicReference<Segment<T>> tail;
+
+    // Serialises dropWhile and clear, so concurrent prunes never hand the same record to onDrop twice
+    private final Object pruneLock = new Object();
+
+    // Prefix of the segment chain in order, rebuilt only when segments are linked, dropped or cleared
+    private final Object directoryLock = new Object();
+    private volatile List<Segment<T>> directory;
+
+    SegmentedLog() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    SegmentedLog(int segmentSize) {
+        this(segmentSize, null);
+    }
+
+    SegmentedLog(int segmentSize, ToLongFunction<? super T> orderKey) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be greater than 0");
+        }
+        this.segmentSize = segmentSize;
+        this.orderKey = orderKey;
+        Segment<T> first = new Segment<>(segmentSize, 0, orderKey);
+        this.head = first;
+        this.tail = new AtomicReference<>(first);
+        this.directory = List.of(first);
+    }
+
+    void append(T value) {
+        Objects.requireNonNull(value);
+        while (true) {
+            Segment<T> segment = tail.get();
+            int index = segment.claimed.getAndIncrement();
+            if (index < segmentSize) {
+                segment.write(index, value);
+                return;
+            }
+            advanceTail(segment);
+        }
+    }
+
+    // Claims a contiguous run per segment, so a batch costs one atomic increment per segment it touches
+    void appendAll(List<? extends T> values) {
+        int offset = 0;
+        while (offset < values.size()) {
+            Segment<T> segment = tail.get();
+            int wanted = values.size() - offset;
+            int start = segment.claimed.getAndAdd(wanted);
+            if (start >= segmentSize) {
+                advanceTail(segment);
+                continue;
+            }
+            int end = Math.min(segmentSize, start + wanted);
+            for (int i = start; i < end; i++) {
+                segment.write(i, Objects.requireNonNull(values.get(offset++)));
+            }
+            if (end == segmentSize) {
+                advanceTail(segment);
+            }
+        }
+    }
+
+    /**
+     * Drops records from the front of the log while {@code expired} holds. Whole segments whose
+     * last record is expired are unlinked in O(1) each; within the boundary segment only the start
+     * index moves. Assumes records are appended in the order {@code expired} turns false.
+     * Concurrent calls run one after the other; appends and readers are never blocked.
+     */
+    void dropWhile(Predicate<? super T> expired) {
+        dropWhile(expired, null);
+    }
+
+    // As dropWhile(expired), also handing every dropped record to onDrop (which then costs O(dropped))
+    void dropWhile(Predicate<? super T> expired, Consumer<? super T> onDrop) {
+        synchronized (pruneLock) {
+            Segment<T> segment = head;
+            while (segment.isSealed() && segment.next.get() != null && expired.test(segment.get(segmentSize - 1))) {
+                if (onDrop != null) {
+                    for (int i = segment.start; i < segmentSize; i++) {
+                        onDrop.accept(segment.get(i));
+                    }
+                }
+                segment = segment.next.get();
+            }
+            int start = segment.start;
+            int end = segment.published();
+            while (start < end && expired.test(segment.get(start))) {
+                if (onDrop != null) {
+                    onDrop.accept(segment.get(start));
+                }
+                start++;
+            }
+            segment.start = start;
+            synchronized (directoryLock) {
+                head = segment;
+                directory = chainFrom(segment);
+            }
+        }
+    }
+
+    // Offsets keep counting after a clear, so saved scan positions never point at newer records
+    void clear() {
+        synchronized (pruneLock) {
+            synchronized (directoryLock) {
+                Segment<T> last = tail.get();
+                while (last.next.get() != null) {
+                    last = last.next.get();
+                }
+                Segment<T> fresh = new Segment<>(segmentSize, last.baseOffset + segmentSize, orderKey);
+                tail.set(fresh);
+                head = fresh;
+                directory = List.of(fresh);
+            }
+        }
+    }
+
+    /**
+     * Records whose order key lies in {@code [fromKey, toKey]}, in log order. Segments wholly
+     * outside the range are skipped on their sealed min/max, segments wholly inside are copied
+     * without evaluating keys, and sorted boundary segments are binary searched. Only unsealed
+     * or unsorted segments are scanned record by record.
+     */
+    List<T> range(long fromKey, long toKey) {
+        if (orderKey == null) {
+            throw new IllegalStateException("Log has no order key");
+        }
+        List<T> result = new ArrayList<>();
+        if (fromKey > toKey) {
+            return result;
+        }
+        List<Segment<T>> dir = directory;
+        // One segment of slack for records that were appended slightly out of key order
+        int first = Math.max(0, lastStartingAtOrBefore(dir, fromKey) - 1);
+        for (Segment<T> segment = dir.get(first); segment != null; segment = segment.next.get()) {
+            int start = segment.start;
+            Summary summary = segment.summary;
+            if (summary != null) {
+                // A later segment may still hold out-of-order keys in range, so keep walking
+                if (summary.min > toKey || summary.max < fromKey) {
+                    continue;
+                }
+                if (summary.min >= fromKey && summary.max <= toKey) {
+                    segment.copyTo(start, segmentSize, result);
+                    continue;
+                }
+                if (summary.sorted) {
+                    int lo = segment.lowerBound(start, segmentSize, fromKey);
+                    int hi = toKey == Long.MAX_VALUE ? segmentSize : segment.lowerBound(lo, segmentSize, toKey + 1);
+                    segment.copyTo(lo, hi, result);
+                    continue;
+                }
+            }
+            int end = segment.published();
+            for (int i = start; i < end; i++) {
+                T value = segment.get(i);
+                long key = orderKey.applyAsLong(value);
+                if (key >= fromKey && key <= toKey) {
+                    result.add(value);
+                }
+            }
+            if (end < segmentSize) {
+                break; // end of the visible prefix
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Hands records from offset {@code fromOffset} on to the action, in log order, until it
+     * returns false. Returns the offset of the declined record, or the end of the visible prefix.
+     * Offsets are positions since the log was created, unaffected by dropWhile and clear.
+     */
+    long scan(long fromOffset, Predicate<? super T> action) {
+        Segment<T> segment = head;
+        while (true) {
+            int end = segment.published();
+            long relative = fromOffset - segment.baseOffset;
+            int i = relative <= segment.start ? segment.start : (int) Math.min(relative, end);
+            for (; i < end; i++) {
+                if (!action.test(segment.get(i))) {
+                    return segment.baseOffset + i;
+                }
+            }
+            Segment<T> next = segment.next.get();
+            if (end < segmentSize || next == null) {
+                return Math.max(fromOffset, segment.baseOffset + end);
+            }
+            segment = next;
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment<T> segment = head; segment != null; segment = segment.next.get()) {
+            int published = segment.published();
+            size += published - Math.min(segment.start, published);
+            if (published < segmentSize) {
+                break;
+            }
+        }
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    Stream<T> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    List<T> toList() {
+        List<T> list = new ArrayList<>();
+        forEach(list::add);
+        return list;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Segment<T> segment = head;
+            private int index = segment.start;
+            private T next = advance();
+
+            private T advance() {
+                while (segment != null) {
+                    if (index < segmentSize) {
+                        T value = segment.get(index);
+                        if (value == null) {
+                            segment = null; // claimed but unwritten slot: end of the visible prefix
+                            return null;
+                        }
+                        index++;
+                        return value;
+                    }
+                    segment = segment.next.get();
+                    index = segment == null ? 0 : segment.start;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = next;
+                next = advance();
+                return value;
+            }
+        };
+    }
+
+    private void advanceTail(Segment<T> full) {
+        Segment<T> next = full.next.get();
+        if (next == null) {
+            Segment<T> created = new Segment<>(segmentSize, full.baseOffset + segmentSize, orderKey);
+            if (full.next.compareAndSet(null, created)) {
+                next = created;
+                if (orderKey != null) {
+                    extendDirectory();
+                }
+            } else {
+                next = full.next.get();
+            }
+        }
+        tail.compareAndSet(full, next);
+    }
+
+    // Runs once per segment, so copying the directory is cheap next to the appends that filled it
+    private void extendDirectory() {
+        synchronized (directoryLock) {
+            List<Segment<T>> current = directory;
+            Segment<T> last = current.get(current.size() - 1);
+            if (last.next.get() == null) {
+                return;
+            }
+            List<Segment<T>> extended = new ArrayList<>(current);
+            for (Segment<T> s = last.next.get(); s != null; s = s.next.get()) {
+                extended.add(s);
+            }
+            directory = List.copyOf(extended);
+        }
+    }
+
+    private List<Segment<T>> chainFrom(Segment<T> segment) {
+        List<Segment<T>> chain = new ArrayList<>();
+        for (Segment<T> s = segment; s != null; s = s.next.get()) {
+            chain.add(s);
+        }
+        return List.copyOf(chain);
+    }
+
+    // Index of the last segment whose first record's key is <= key; 0 if there is none
+    private int lastStartingAtOrBefore(List<Segment<T>> dir, long key) {
+        int lo = 0;
+        int hi = dir.size() - 1;
+        int found = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            T firstValue = dir.get(mid).get(0);
+            // An unwritten first slot only happens at the very end of the log
+            if (firstValue != null && orderKey.applyAsLong(firstValue) <= key) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private record Summary(long min, long max, boolean sorted) {
+    }
+
+    static final class Segment<T> {
+        private final AtomicReferenceArray<T> slots;
+        private final AtomicInteger claimed = new AtomicInteger();
+        private final AtomicInteger written = new AtomicInteger();
+        private final AtomicReference<Segment<T>> next = new AtomicReference<>();
+        private final ToLongFunction<? super T> orderKey;
+        // Offset of slot 0 since the log was created
+        final long baseOffset;
+        // First slot still visible after dropWhile
+        private volatile int start;
+        // Set by the writer that seals the segment; null until then or without an order key
+        private volatile Summary summary;
+
+        private Segment(int size, long baseOffset, ToLongFunction<? super T> orderKey) {
+            this.slots = new AtomicReferenceArray<>(size);
+            this.baseOffset = baseOffset;
+            this.orderKey = orderKey;
+        }
+
+        private void write(int index, T value) {
+            slots.set(index, value);
+            if (written.incrementAndGet() == slots.length() && orderKey != null) {
+                summary = summarize();
+            }
+        }
+
+        private Summary summarize() {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            long previous = Long.MIN_VALUE;
+            boolean sorted = true;
+            for (int i = 0; i < slots.length(); i++) {
+                long key = orderKey.applyAsLong(slots.get(i));
+                min = Math.min(min, key);
+                max = Math.max(max, key);
+                sorted &= key >= previous;
+                previous = key;
+            }
+            return new Summary(min, max, sorted);
+        }
+
+        T get(int index) {
+            return slots.get(index);
+        }
+
+        // First index in [from, to) whose key is >= key; only valid on a sorted segment
+        private int lowerBound(int from, int to, long key) {
+            int lo = from;
+            int hi = to;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (orderKey.applyAsLong(slots.get(mid)) < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private void copyTo(int from, int to, List<? super T> target) {
+            for (int i = from; i < to; i++) {
+                target.add(slots.get(i));
+            }
+        }
+
+        // Slots written without gaps from the start of the segment
+        int published() {
+            // Read written before claimed: every counted write is then below the claimed limit
+            int writes = written.get();
+            int limit = Math.min(claimed.get(), slots.length());
+            if (writes == limit) {
+                return limit;
+            }
+            int i = 0;
+            while (i < limit && slots.get(i) != null) {
+                i++;
+            }
+            return i;
+        }
+
+        boolean isSealed() {
+            return written.get() == slots.length();
+        }
+    }
+}
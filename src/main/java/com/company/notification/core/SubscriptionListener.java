@@ -0,0 +1,16 @@
+package com.company.notification.core;
+
+import com.company.notification.model.publisher.Publisher;
+
+/**
+ * Told by {@link EventBus} when a publisher gains its first subscriber or loses its last one,
+ * counting direct and topic subscriptions. Calls are made on the thread that changed the
+ * subscription while the bus holds its routing lock, so they arrive in order; implementations
+ * must be quick and must not subscribe or unsubscribe.
+ */
+public interface SubscriptionListener {
+
+    void onFirstSubscriber(Publisher publisher);
+
+    void onLastSubscriberRemoved(Publisher publisher);
+}
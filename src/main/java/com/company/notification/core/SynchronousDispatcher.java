@@ -0,0 +1,47 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.filters.EventFilter;
+import com.company.notification.model.subscriber.Subscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Default dispatcher: filters and delivers on the publishing thread
+final class SynchronousDispatcher implements EventDispatcher {
+
+    static final SynchronousDispatcher INSTANCE = new SynchronousDispatcher();
+
+    private static final Logger logger = Logger.getLogger(SynchronousDispatcher.class.getName());
+
+    private SynchronousDispatcher() {
+    }
+
+    @Override
+    public void dispatch(Subscriber subscriber, EventFilter filter, Event event) {
+        if (filter.shouldProcess(event)) {
+            subscriber.enqueue(event);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(subscriber.getName() + " received event: " + event);
+            }
+        }
+    }
+
+    @Override
+    public void dispatchBatch(Subscriber subscriber, EventFilter filter, List<Event> events) {
+        List<Event> accepted = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (filter.shouldProcess(event)) {
+                accepted.add(event);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            subscriber.enqueueAll(accepted);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(subscriber.getName() + " received " + accepted.size() + " events");
+            }
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package com.company.notification.core;
+
+import com.company.notification.codec.PublisherDictionary;
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.EventTypes;
+
+import java.io.*;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Two-tier {@link HistoryStore}: recent records live in an {@link InMemoryHistoryStore}, older
+ * ones in Deflate-compressed segment files. A background task periodically moves records older
+ * than the hot window out of the heap tier, which drops whole sealed segments of its log, and
+ * writes them to disk in segments of up to {@link #COLD_SEGMENT_RECORDS} records. Closing the
+ * store moves everything to disk, so a reopened directory still holds the full history.
+ * <p>
+ * Each cold file starts with an uncompressed header carrying its min/max timestamp, a bit mask
+ * of the event types it holds and its publisher dictionary. Queries read the headers from the
+ * heap and only inflate files that can hold a match; results come back cold tier first, in
+ * append order. Files whose header cannot be read on open are renamed with a
+ * {@code .corrupt} suffix and left out of the history.
+ */
+public class TieredHistoryStore implements HistoryStore {
+
+    public static final Duration DEFAULT_HOT_WINDOW = Duration.ofHours(1);
+    static final int COLD_SEGMENT_RECORDS = 8192;
+
+    private static final Logger logger = Logger.getLogger(TieredHistoryStore.class.getName());
+    private static final String SEGMENT_PREFIX = "cold-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String QUARANTINE_SUFFIX = ".corrupt";
+    private static final int MAGIC = 0x45564831; // "EVH1"
+    private static final byte VERSION = 1;
+
+    private final Path directory;
+    private final Duration hotWindow;
+    private final InMemoryHistoryStore hot = new InMemoryHistoryStore();
+    // Sequence of the hot tier's offset 0; cold segments from earlier runs sit below it
+    private final long sequenceBase;
+    private final ScheduledExecutorService ager;
+
+    // Lock order: migrationLock, then tierLock. Queries hold the read lock so they never see a
+    // record in two tiers or in none; moves only take the write lock to swap lists.
+    private final Object migrationLock = new Object();
+    private final ReadWriteLock tierLock = new ReentrantReadWriteLock();
+    private volatile List<ColdSegment> cold;
+    // Records taken out of the hot tier whose cold segment is not written yet
+    private List<EventRecord> pending = List.of();
+    private long pendingFirstSequence;
+    private long nextSegmentId;
+    private volatile boolean closed;
+    // Last segment inflated by scan(), so paging through a segment decodes it once, not once per page
+    private volatile DecodedSegment lastDecoded;
+
+    private TieredHistoryStore(Path directory, Duration hotWindow, List<ColdSegment> cold) {
+        this.directory = directory;
+        this.hotWindow = hotWindow;
+        this.cold = List.copyOf(cold);
+        this.sequenceBase = cold.isEmpty() ? 0 : cold.get(cold.size() - 1).endSequence();
+        this.nextSegmentId = cold.stream().mapToLong(ColdSegment::id).max().orElse(-1) + 1;
+        this.ager = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "HistoryTiering");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static TieredHistoryStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_HOT_WINDOW);
+    }
+
+    public static TieredHistoryStore open(Path directory, Duration hotWindow) throws IOException {
+        if (hotWindow == null || hotWindow.isNegative() || hotWindow.isZero()) {
+            throw new IllegalArgumentException("Hot window must be positive");
+        }
+        // Checking a few times per window keeps the hot tier within about a quarter window of its target
+        Duration interval = hotWindow.dividedBy(4);
+        return open(directory, hotWindow, interval.isZero() ? hotWindow : interval);
+    }
+
+    public static TieredHistoryStore open(Path directory, Duration hotWindow, Duration ageInterval) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("History directory cannot be null");
+        }
+        if (hotWindow == null || hotWindow.isNegative() || hotWindow.isZero()) {
+            throw new IllegalArgumentException("Hot window must be positive");
+        }
+        if (ageInterval == null || ageInterval.isNegative() || ageInterval.isZero()) {
+            throw new IllegalArgumentException("Age interval must be positive");
+        }
+        Files.createDirectories(directory);
+        TieredHistoryStore store = new TieredHistoryStore(directory, hotWindow, recover(directory));
+        long millis = ageInterval.toMillis();
+        store.ager.scheduleWithFixedDelay(store::ageSafely, millis, millis, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    private static List<ColdSegment> recover(Path directory) throws IOException {
+        List<ColdSegment> segments = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) listing::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX + ".tmp")) {
+                    Files.deleteIfExists(file); // a move that did not finish
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        segments.add(ColdSegment.readHeader(file));
+                    } catch (IOException | RuntimeException e) {
+                        quarantine(file, e);
+                    }
+                }
+            }
+        }
+        segments.sort(Comparator.comparingLong(ColdSegment::firstSequence).thenComparingLong(ColdSegment::id));
+        // A prune that rewrote a segment may have stopped before deleting the original
+        List<ColdSegment> recovered = new ArrayList<>();
+        for (ColdSegment segment : segments) {
+            ColdSegment previous = recovered.isEmpty() ? null : recovered.get(recovered.size() - 1);
+            if (previous != null && segment.endSequence() <= previous.endSequence()) {
+                segment.delete();
+            } else {
+                recovered.add(segment);
+            }
+        }
+        segments = recovered;
+        long records = segments.stream().mapToLong(ColdSegment::count).sum();
+        logger.info("Found " + records + " cold history records in " + segments.size() + " segments in " + directory);
+        return segments;
+    }
+
+    // One bad file should not take the rest of the history down with it
+    private static void quarantine(Path file, Exception cause) {
+        Path target = file.resolveSibling(file.getFileName() + QUARANTINE_SUFFIX);
+        logger.warning("Skipping unreadable cold history segment " + file + ": " + cause.getMessage());
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warning("Failed to quarantine " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void append(EventRecord record) {
+        ensureOpen();
+        hot.append(record);
+    }
+
+    @Override
+    public void appendAll(List<EventRecord> records) {
+        ensureOpen();
+        hot.appendAll(records);
+    }
+
+    private void ageSafely() {
+        try {
+            moveToColdBefore(Instant.now().minus(hotWindow));
+        } catch (RuntimeException e) {
+            logger.warning("Failed to move history to cold storage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves hot records older than the cutoff to cold segment files; returns how many records
+     * were written. Runs periodically in the background, but may also be called directly.
+     * Records whose file cannot be written stay queryable in memory and are retried next time.
+     */
+    public int moveToColdBefore(Instant cutoff) {
+        synchronized (migrationLock) {
+            if (closed) {
+                return 0;
+            }
+            List<EventRecord> moving;
+            long firstSequence;
+            tierLock.writeLock().lock();
+            try {
+                List<EventRecord> taken = new ArrayList<>(pending);
+                if (pending.isEmpty()) {
+                    pendingFirstSequence = sequenceBase + hot.scan(0, record -> false);
+                }
+                hot.pruneBefore(cutoff, taken::add);
+                pending = List.copyOf(taken);
+                moving = pending;
+                firstSequence = pendingFirstSequence;
+            } finally {
+                tierLock.writeLock().unlock();
+            }
+            if (moving.isEmpty()) {
+                return 0;
+            }
+
+            // Compression and file IO happen outside the tier lock; the records stay visible as pending
+            List<ColdSegment> written = new ArrayList<>();
+            int done = 0;
+            try {
+                while (done < moving.size()) {
+                    int end = Math.min(moving.size(), done + COLD_SEGMENT_RECORDS);
+                    written.add(writeSegment(moving.subList(done, end), firstSequence + done));
+                    done = end;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warning("Failed to write cold history segment in " + directory + ": " + e.getMessage());
+            }
+
+            tierLock.writeLock().lock();
+            try {
+                List<ColdSegment> updated = new ArrayList<>(cold);
+                updated.addAll(written);
+                cold = List.copyOf(updated);
+                pending = List.copyOf(moving.subList(done, moving.size()));
+                pendingFirstSequence = firstSequence + done;
+            } finally {
+                tierLock.writeLock().unlock();
+            }
+            return done;
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super EventRecord> action) {
+        scan(0, record -> {
+            action.accept(record);
+            return true;
+        });
+    }
+
+    @Override
+    public long scan(long from, Predicate<? super EventRecord> action) {
+        ensureOpen();
+        tierLock.readLock().lock();
+        try {
+            for (ColdSegment segment : cold) {
+                if (segment.endSequence() <= from) {
+                    continue;
+                }
+                List<EventRecord> records = decoded(segment);
+                for (int i = (int) Math.max(0, from - segment.firstSequence()); i < records.size(); i++) {
+                    if (!action.test(records.get(i))) {
+                        return segment.firstSequence() + i;
+                    }
+                }
+            }
+            for (int i = (int) Math.max(0, Math.min(pending.size(), from - pendingFirstSequence)); i < pending.size(); i++) {
+                if (!action.test(pending.get(i))) {
+                    return pendingFirstSequence + i;
+                }
+            }
+            return sequenceBase + hot.scan(Math.max(0, from - sequenceBase), action);
+        } finally {
+            tierLock.readLock().unlock();
+        }
+    }
+
+    private List<EventRecord> decoded(ColdSegment segment) {
+        DecodedSegment last = lastDecoded;
+        if (last != null && last.segment() == segment) {
+            return last.records();
+        }
+        List<EventRecord> records = segment.read();
+        lastDecoded = new DecodedSegment(segment, records);
+        return records;
+    }
+
+    private record DecodedSegment(ColdSegment segment, List<EventRecord> records) {
+    }
+
+    @Override
+    public List<EventRecord> range(Instant start, Instant end) {
+        return collect(start, end, segment -> true, record -> true, hot::range);
+    }
+
+    @Override
+    public List<EventRecord> rangeByType(EventTypes type, Instant start, Instant end) {
+        int bit = 1 << type.ordinal();
+        return collect(start, end,
+                segment -> (segment.typeMask() & bit) != 0,
+                record -> record.getEvent().getType() == type,
+                (s, e) -> hot.rangeByType(type, s, e));
+    }
+
+    @Override
+    public List<EventRecord> rangeByPublisher(String publisherId, Instant start, Instant end) {
+        String key = TimeKeys.publisherKey(publisherId);
+        return collect(start, end,
+                segment -> segment.publisherKeys().contains(key),
+                record -> record.getPublisherId() != null && TimeKeys.publisherKey(record.getPublisherId()).equals(key),
+                (s, e) -> hot.rangeByPublisher(publisherId, s, e));
+    }
+
+    private interface HotQuery {
+        List<EventRecord> query(Instant start, Instant end);
+    }
+
+    // Fans the query out over the cold files that can match, the pending records and the hot tier
+    private List<EventRecord> collect(Instant start, Instant end, Predicate<ColdSegment> mayMatch,
+                                      Predicate<EventRecord> matches, HotQuery hotQuery) {
+        ensureOpen();
+        long fromKey = TimeKeys.of(start);
+        long toKey = TimeKeys.of(end);
+        List<EventRecord> result = new ArrayList<>();
+        if (fromKey > toKey) {
+            return result;
+        }
+        Predicate<EventRecord> inRange = record -> {
+            long key = TimeKeys.of(record.getTimestamp());
+            return key >= fromKey && key <= toKey && matches.test(record);
+        };
+        tierLock.readLock().lock();
+        try {
+            for (ColdSegment segment : cold) {
+                if (segment.maxKey() < fromKey || segment.minKey() > toKey || !mayMatch.test(segment)) {
+                    continue;
+                }
+                for (EventRecord record : segment.read()) {
+                    if (inRange.test(record)) {
+                        result.add(record);
+                    }
+                }
+            }
+            for (EventRecord record : pending) {
+                if (inRange.test(record)) {
+                    result.add(record);
+                }
+            }
+            result.addAll(hotQuery.query(start, end));
+        } finally {
+            tierLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // Each tier drops its expired prefix; cold files are deleted or rewritten without it.
+    // Replacements are written before anything is swapped, so a failed write leaves the store as it was.
+    @Override
+    public void pruneBefore(Instant cutoff, Consumer<? super EventRecord> onDrop) {
+        long cutoffKey = TimeKeys.of(cutoff);
+        synchronized (migrationLock) {
+            ensureOpen();
+            // cold only changes under migrationLock, so the rewrite can run outside the tier lock
+            List<ColdSegment> kept = new ArrayList<>();
+            List<ColdSegment> replaced = new ArrayList<>();
+            List<ColdSegment> written = new ArrayList<>();
+            List<EventRecord> dropped = new ArrayList<>();
+            boolean rewritten = false;
+            try {
+                for (ColdSegment segment : cold) {
+                    if (segment.minKey() >= cutoffKey) {
+                        kept.add(segment);
+                        continue;
+                    }
+                    List<EventRecord> records = segment.read();
+                    int expired = 0;
+                    while (expired < records.size() && TimeKeys.of(records.get(expired).getTimestamp()) < cutoffKey) {
+                        dropped.add(records.get(expired++));
+                    }
+                    if (expired == 0) {
+                        kept.add(segment);
+                        continue;
+                    }
+                    if (expired < records.size()) {
+                        ColdSegment replacement = writeSegment(records.subList(expired, records.size()),
+                                segment.firstSequence() + expired);
+                        written.add(replacement);
+                        kept.add(replacement);
+                    }
+                    replaced.add(segment);
+                }
+                rewritten = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to prune cold history in " + directory, e);
+            } finally {
+                if (!rewritten) {
+                    written.forEach(ColdSegment::delete);
+                }
+            }
+
+            tierLock.writeLock().lock();
+            try {
+                cold = List.copyOf(kept);
+                lastDecoded = null;
+                dropped.forEach(onDrop);
+
+                int expired = 0;
+                while (expired < pending.size() && TimeKeys.of(pending.get(expired).getTimestamp()) < cutoffKey) {
+                    onDrop.accept(pending.get(expired++));
+                }
+                pending = List.copyOf(pending.subList(expired, pending.size()));
+                pendingFirstSequence += expired;
+
+                hot.pruneBefore(cutoff, onDrop);
+            } finally {
+                tierLock.writeLock().unlock();
+            }
+            replaced.forEach(ColdSegment::delete);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (migrationLock) {
+            ensureOpen();
+            tierLock.writeLock().lock();
+            try {
+                cold.forEach(ColdSegment::delete);
+                cold = List.of();
+                lastDecoded = null;
+                pending = List.of();
+                hot.clear();
+            } finally {
+                tierLock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Moves the whole hot tier to disk before closing
+    @Override
+    public void close() {
+        // Not shutdownNow: interrupting a move would close the file it is writing
+        ager.shutdown();
+        try {
+            ager.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (migrationLock) {
+            if (closed) {
+                return;
+            }
+            moveToColdBefore(Instant.MAX);
+            if (!pending.isEmpty()) {
+                logger.warning(pending.size() + " history records could not be written to " + directory);
+            }
+            closed = true;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getColdSegmentCount() {
+        return cold.size();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("History store is closed");
+        }
+    }
+
+    // Caller must hold migrationLock
+    private ColdSegment writeSegment(List<EventRecord> records, long firstSequence) throws IOException {
+        long id = nextSegmentId++;
+        Path file = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ColdSegment segment = ColdSegment.write(file, temp, id, firstSequence, records);
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        return segment;
+    }
+
+    /**
+     * One cold file: {@code [int magic][byte version][long first sequence][int count][long min key]
+     * [long max key][int type mask][int dictionary size][dictionary entries as UTF]} followed by
+     * the Deflate-compressed records, each framed as {@code [int length][EventRecordCodec bytes]}.
+     */
+    private record ColdSegment(Path path, long id, long firstSequence, int count, long minKey, long maxKey,
+                               int typeMask, List<String> dictionary, Set<String> publisherKeys, long bodyOffset) {
+
+        long endSequence() {
+            return firstSequence + count;
+        }
+
+        static ColdSegment write(Path file, Path temp, long id, long firstSequence, List<EventRecord> records) throws IOException {
+            PublisherDictionary dictionary = new PublisherDictionary();
+            EventRecordCodec codec = new EventRecordCodec(dictionary);
+            long minKey = Long.MAX_VALUE;
+            long maxKey = Long.MIN_VALUE;
+            int typeMask = 0;
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            try (DataOutputStream body = new DataOutputStream(new DeflaterOutputStream(compressed, deflater))) {
+                ByteBuffer scratch = ByteBuffer.allocate(1024);
+                for (EventRecord record : records) {
+                    while (true) {
+                        scratch.clear();
+                        try {
+                            codec.encode(record, scratch);
+                            break;
+                        } catch (BufferOverflowException e) {
+                            scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+                        }
+                    }
+                    body.writeInt(scratch.position());
+                    body.write(scratch.array(), 0, scratch.position());
+                    long key = TimeKeys.of(record.getTimestamp());
+                    minKey = Math.min(minKey, key);
+                    maxKey = Math.max(maxKey, key);
+                    if (record.getEvent().getType() != null) {
+                        typeMask |= 1 << record.getEvent().getType().ordinal();
+                    }
+                }
+            } finally {
+                deflater.end();
+            }
+
+            List<String> entries = new ArrayList<>(dictionary.size());
+            for (int code = 0; code < dictionary.size(); code++) {
+                entries.add(dictionary.entry(code));
+            }
+            long bodyOffset;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeLong(firstSequence);
+                out.writeInt(records.size());
+                out.writeLong(minKey);
+                out.writeLong(maxKey);
+                out.writeInt(typeMask);
+                out.writeInt(entries.size());
+                for (String entry : entries) {
+                    out.writeUTF(entry);
+                }
+                bodyOffset = out.size();
+                compressed.writeTo(out);
+                // On disk before the rename publishes it, so a crash cannot leave a named but empty segment
+                out.flush();
+                channel.force(true);
+            }
+            return new ColdSegment(file, id, firstSequence, records.size(), minKey, maxKey, typeMask,
+                    List.copyOf(entries), publisherKeys(entries), bodyOffset);
+        }
+
+        static ColdSegment readHeader(Path file) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a cold history segment: " + file);
+                }
+                byte version = in.readByte();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported cold segment version " + version + " in " + file);
+                }
+                long firstSequence = in.readLong();
+                int count = in.readInt();
+                long minKey = in.readLong();
+                long maxKey = in.readLong();
+                int typeMask = in.readInt();
+                int size = in.readInt();
+                List<String> entries = new ArrayList<>(size);
+                long offset = 4 + 1 + 8 + 4 + 8 + 8 + 4 + 4;
+                for (int i = 0; i < size; i++) {
+                    String entry = in.readUTF();
+                    entries.add(entry);
+                    offset += 2 + utfLength(entry);
+                }
+                String name = file.getFileName().toString();
+                long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                return new ColdSegment(file, id, firstSequence, count, minKey, maxKey, typeMask,
+                        List.copyOf(entries), publisherKeys(entries), offset);
+            }
+        }
+
+        List<EventRecord> read() {
+            PublisherDictionary dictionary = new PublisherDictionary();
+            this.dictionary.forEach(dictionary::codeOf);
+            EventRecordCodec codec = new EventRecordCodec(dictionary);
+            List<EventRecord> records = new ArrayList<>(count);
+            try (InputStream file = new BufferedInputStream(Files.newInputStream(path));
+                 DataInputStream body = new DataInputStream(new InflaterInputStream(skip(file, bodyOffset)))) {
+                byte[] scratch = new byte[1024];
+                for (int i = 0; i < count; i++) {
+                    int length = body.readInt();
+                    if (scratch.length < length) {
+                        scratch = new byte[Math.max(length, scratch.length * 2)];
+                    }
+                    body.readFully(scratch, 0, length);
+                    records.add(codec.decode(ByteBuffer.wrap(scratch, 0, length)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read cold history segment " + path, e);
+            }
+            return records;
+        }
+
+        private static InputStream skip(InputStream in, long bytes) throws IOException {
+            in.skipNBytes(bytes);
+            return in;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warning("Failed to delete cold history segment " + path + ": " + e.getMessage());
+            }
+        }
+
+        // Dictionaries hold publisher names too, so this may over-approximate; it never misses an id
+        private static Set<String> publisherKeys(List<String> entries) {
+            Set<String> keys = new HashSet<>();
+            for (String entry : entries) {
+                keys.add(TimeKeys.publisherKey(entry));
+            }
+            return Set.copyOf(keys);
+        }
+
+        // Length of DataOutput's modified UTF-8 encoding
+        private static int utfLength(String value) {
+            int length = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+            }
+            return length;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.notification.core;
+
+import java.time.Instant;
+import java.util.Locale;
+
+// Shared key conventions of the history stores
+final class TimeKeys {
+
+    private TimeKeys() {
+    }
+
+    // Nanoseconds since the epoch, saturated for instants outside the representable ~292 year span
+    static long of(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    static Instant toInstant(long key) {
+        return Instant.ofEpochSecond(Math.floorDiv(key, 1_000_000_000L), Math.floorMod(key, 1_000_000_000L));
+    }
+
+    // Publisher ids are matched case-insensitively, so indexes are keyed by one canonical form
+    static String publisherKey(String publisherId) {
+        return publisherId.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,416 @@
+package com.company.notification.core;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Hierarchical timing wheel shared by any number of schedules. Level 0 has one bucket per tick;
+ * each higher level has buckets one full lower level wide, so four levels of 64 buckets at a
+ * 10 ms tick cover about 46 hours, and longer delays simply cascade again. Scheduling and
+ * cancelling are O(1): callers only push onto lock-free queues, and the single tick thread,
+ * which owns every bucket, links and unlinks the doubly-linked bucket entries.
+ * <p>
+ * Expired tasks run on a small fixed worker pool, so a slow task never delays the tick. A
+ * periodic task whose previous run is still going skips that period instead of running twice,
+ * and one that fell whole periods behind follows its {@link CatchUpPolicy} instead of bursting.
+ * Every timeout records how late its runs started in a {@link LatenessHistogram}.
+ */
+public final class TimingWheel implements AutoCloseable {
+
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(10);
+    public static final int DEFAULT_WHEEL_SIZE = 64;
+    public static final int DEFAULT_WORKER_THREADS = 2;
+    private static final int LEVELS = 4;
+
+    private static final Logger logger = Logger.getLogger(TimingWheel.class.getName());
+
+    private final long tickNanos;
+    private final int bits;
+    private final int mask;
+    private final Bucket[][] levels;
+    private final long startNanos;
+
+    private final Queue<Timeout> registrations = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final ExecutorService workers;
+    private final Thread tickThread;
+    private volatile boolean running = true;
+
+    public TimingWheel() {
+        this(DEFAULT_TICK, DEFAULT_WHEEL_SIZE, DEFAULT_WORKER_THREADS);
+    }
+
+    public TimingWheel(Duration tick, int wheelSize, int workerThreads) {
+        if (tick == null || tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("Worker threads must be greater than 0");
+        }
+        this.tickNanos = tick.toNanos();
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new Bucket[LEVELS][wheelSize];
+        for (Bucket[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        AtomicInteger workerIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            t.setName("TimingWheel-worker-" + workerIndex.incrementAndGet());
+            return t;
+        });
+        this.startNanos = System.nanoTime();
+        this.tickThread = new Thread(this::run, "TimingWheel-tick");
+        tickThread.setDaemon(true);
+        tickThread.start();
+    }
+
+    // Process-wide wheel for schedulers that are not given one; its threads are daemons and live as long as the JVM
+    public static TimingWheel shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    private static final class SharedHolder {
+        private static final TimingWheel INSTANCE = new TimingWheel();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Task and time unit cannot be null");
+        }
+        return register(task, unit.toNanos(delay), 0, CatchUpPolicy.COALESCE, new LatenessHistogram());
+    }
+
+    /** What a periodic task does after falling one or more whole periods behind. */
+    public enum CatchUpPolicy {
+        // Missed runs are dropped; the task waits for its next slot, so no run starts a full period late
+        SKIP,
+        // Missed runs fold into one late run, then the task continues on its original grid
+        COALESCE
+    }
+
+    // Runs at initialDelay, initialDelay + period, ... measured from the wheel's clock, so runs do not drift
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Task and time unit cannot be null");
+        }
+        return scheduleAtFixedRate(task, Duration.ofNanos(unit.toNanos(initialDelay)),
+                Duration.ofNanos(unit.toNanos(period)), CatchUpPolicy.COALESCE);
+    }
+
+    public Timeout scheduleAtFixedRate(Runnable task, Duration initialDelay, Duration period, CatchUpPolicy policy) {
+        return scheduleAtFixedRate(task, initialDelay, period, policy, new LatenessHistogram());
+    }
+
+    // Several timeouts may share one histogram, e.g. successive schedules of the same job
+    public Timeout scheduleAtFixedRate(Runnable task, Duration initialDelay, Duration period,
+                                       CatchUpPolicy policy, LatenessHistogram lateness) {
+        if (initialDelay == null || period == null || policy == null || lateness == null) {
+            throw new IllegalArgumentException("Delay, period, policy and histogram cannot be null");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be greater than 0");
+        }
+        return register(task, initialDelay.toNanos(), period.toNanos(), policy, lateness);
+    }
+
+    private Timeout register(Runnable task, long delayNanos, long periodNanos, CatchUpPolicy policy,
+                             LatenessHistogram lateness) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task and time unit cannot be null");
+        }
+        if (!running) {
+            throw new IllegalStateException("Timing wheel is shut down");
+        }
+        long deadline = ticksUntil(System.nanoTime() + Math.max(0, delayNanos));
+        long periodTicks = periodNanos == 0 ? 0 : Math.max(1, ceilDiv(periodNanos, tickNanos));
+        Timeout timeout = new Timeout(task, deadline, periodTicks, policy, lateness);
+        scheduled.incrementAndGet();
+        registrations.add(timeout);
+        return timeout;
+    }
+
+    // Number of scheduled tasks that have not been cancelled and, if one-shot, not fired yet
+    public int getScheduledCount() {
+        return scheduled.get();
+    }
+
+    public Duration getTick() {
+        return Duration.ofNanos(tickNanos);
+    }
+
+    private long ticksUntil(long nanoTime) {
+        return Math.max(0, ceilDiv(nanoTime - startNanos, tickNanos));
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / tickNanos;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private void run() {
+        long tick = 0;
+        while (running) {
+            long wakeAt = startNanos + (tick + 1) * tickNanos;
+            long sleep;
+            while ((sleep = wakeAt - System.nanoTime()) > 0 && running) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            tick++;
+            transferRegistrations(tick);
+            processCancellations();
+            cascade(tick);
+            expire(levels[0][(int) (tick & mask)], tick);
+        }
+    }
+
+    private void transferRegistrations(long tick) {
+        Timeout timeout;
+        while ((timeout = registrations.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                place(timeout, tick);
+            }
+        }
+    }
+
+    private void processCancellations() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    // When the lower digits of the tick roll over, the matching higher-level bucket is redistributed
+    private void cascade(long tick) {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((tick & ((1L << (level * bits)) - 1)) != 0) {
+                return;
+            }
+            Bucket bucket = levels[level][(int) ((tick >>> (level * bits)) & mask)];
+            Timeout timeout;
+            while ((timeout = bucket.poll()) != null) {
+                place(timeout, tick);
+            }
+        }
+    }
+
+    private void expire(Bucket bucket, long tick) {
+        Timeout timeout;
+        while ((timeout = bucket.poll()) != null) {
+            if (timeout.deadline <= tick) {
+                fire(timeout, tick);
+            } else {
+                place(timeout, tick);
+            }
+        }
+    }
+
+    private void place(Timeout timeout, long tick) {
+        long delta = timeout.deadline - tick;
+        if (delta <= 0) {
+            fire(timeout, tick);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << ((level + 1) * bits)) {
+                levels[level][(int) ((timeout.deadline >>> (level * bits)) & mask)].add(timeout);
+                return;
+            }
+        }
+        // Beyond the top level: park in the top-level bucket drained last and re-place from there
+        long parkedUntil = tick + (1L << (LEVELS * bits)) - 1;
+        levels[LEVELS - 1][(int) ((parkedUntil >>> ((LEVELS - 1) * bits)) & mask)].add(timeout);
+    }
+
+    private void fire(Timeout timeout, long tick) {
+        if (timeout.isCancelled()) {
+            return;
+        }
+        long due = timeout.deadline;
+        if (timeout.periodTicks > 0) {
+            // Measured against the clock, not the tick counter: a stalled tick thread replays its ticks
+            // back to back, and without this every period it slept through would fire in a burst
+            long behind = Math.max(0, currentTick() - due) / timeout.periodTicks;
+            timeout.deadline = due + (behind + 1) * timeout.periodTicks;
+            place(timeout, tick);
+            if (behind > 0) {
+                timeout.missed.addAndGet(timeout.policy == CatchUpPolicy.SKIP ? behind + 1 : behind);
+                if (timeout.policy == CatchUpPolicy.SKIP) {
+                    return;
+                }
+            }
+        } else if (!timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+            return;
+        } else {
+            scheduled.decrementAndGet();
+        }
+        if (!timeout.running.compareAndSet(false, true)) {
+            timeout.missed.incrementAndGet();
+            return; // previous period still running
+        }
+        timeout.dueNanos = startNanos + due * tickNanos;
+        try {
+            workers.execute(timeout);
+        } catch (RejectedExecutionException e) {
+            timeout.running.set(false);
+        }
+    }
+
+    // Stops the tick thread and the workers; tasks that are running are interrupted
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(tickThread);
+        workers.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    public boolean isShutdown() {
+        return !running;
+    }
+
+    /** Handle to a scheduled task. */
+    public final class Timeout implements Runnable {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long periodTicks;
+        private final CatchUpPolicy policy;
+        private final LatenessHistogram lateness;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicLong missed = new AtomicLong();
+        // Written by the tick thread before handing the run to a worker
+        private long dueNanos;
+        // Lateness of the run in progress; written and read on the worker running the task
+        private long runLatenessNanos;
+        // Tick thread only
+        private long deadline;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline, long periodTicks, CatchUpPolicy policy, LatenessHistogram lateness) {
+            this.task = task;
+            this.deadline = deadline;
+            this.periodTicks = periodTicks;
+            this.policy = policy;
+            this.lateness = lateness;
+        }
+
+        // Returns false if the task had already fired (one-shot) or been cancelled
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            scheduled.decrementAndGet();
+            cancellations.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isPeriodic() {
+            return periodTicks > 0;
+        }
+
+        public LatenessHistogram getLateness() {
+            return lateness;
+        }
+
+        // Periodic runs that did not happen: still running, skipped or coalesced by the catch-up policy
+        public long getMissedCount() {
+            return missed.get();
+        }
+
+        // How late the current run started; only meaningful when called from inside the task
+        long currentRunLatenessNanos() {
+            return runLatenessNanos;
+        }
+
+        @Override
+        public void run() {
+            runLatenessNanos = System.nanoTime() - dueNanos;
+            lateness.record(runLatenessNanos);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warning("Scheduled task failed: " + e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    // Doubly-linked list of timeouts; touched by the tick thread only
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout poll() {
+            Timeout timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.notification.core;
+
+import com.company.notification.model.subscriber.Subscriber;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trie of dot-separated topic patterns ({@code billing.eu.invoice}). In a pattern {@code *}
+ * matches exactly one segment and {@code #} (only allowed as the last segment) matches zero or
+ * more segments. Matches are cached per concrete topic until the next change to the trie.
+ * <p>
+ * The trie itself is not thread-safe. {@link EventBus} only changes it under its routing lock
+ * and gives each {@link RoutingTable} snapshot its own {@link #copy()}, which is never mutated
+ * and can therefore be matched against from any publishing thread.
+ */
+final class TopicTrie {
+
+    private static final String SINGLE_WILDCARD = "*";
+    private static final String MULTI_WILDCARD = "#";
+
+    private final Node root = new Node();
+    private final Map<String, Set<Subscriber>> matchCache = new ConcurrentHashMap<>();
+
+    static void validatePattern(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Topic pattern cannot be null or empty");
+        }
+        String[] segments = pattern.split("\\.", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i].isEmpty()) {
+                throw new IllegalArgumentException("Topic pattern has an empty segment: " + pattern);
+            }
+            if (segments[i].equals(MULTI_WILDCARD) && i != segments.length - 1) {
+                throw new IllegalArgumentException("'#' is only allowed as the last segment: " + pattern);
+            }
+        }
+    }
+
+    void add(String pattern, Subscriber subscriber) {
+        validatePattern(pattern);
+        Node node = root;
+        for (String segment : pattern.split("\\.")) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        node.subscribers.add(subscriber);
+        matchCache.clear();
+    }
+
+    boolean remove(String pattern, Subscriber subscriber) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        String[] segments = pattern.split("\\.");
+        for (String segment : segments) {
+            path.push(node);
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+        }
+        boolean removed = node.subscribers.remove(subscriber);
+        // Prune branches that no longer lead to any subscriber
+        for (int i = segments.length - 1; i >= 0 && node.isEmpty(); i--) {
+            Node parent = path.pop();
+            parent.children.remove(segments[i]);
+            node = parent;
+        }
+        if (removed) {
+            matchCache.clear();
+        }
+        return removed;
+    }
+
+    Set<Subscriber> match(String topic) {
+        if (topic == null || topic.isBlank()) {
+            return Set.of();
+        }
+        return matchCache.computeIfAbsent(topic, t -> {
+            Set<Subscriber> matches = new LinkedHashSet<>();
+            collect(root, t.split("\\."), 0, matches);
+            return Collections.unmodifiableSet(matches);
+        });
+    }
+
+    boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    TopicTrie copy() {
+        TopicTrie copy = new TopicTrie();
+        root.copyInto(copy.root);
+        return copy;
+    }
+
+    private static void collect(Node node, String[] segments, int index, Set<Subscriber> matches) {
+        Node multi = node.children.get(MULTI_WILDCARD);
+        if (multi != null) {
+            matches.addAll(multi.subscribers); // '#' swallows the rest of the topic, including nothing
+        }
+        if (index == segments.length) {
+            matches.addAll(node.subscribers);
+            return;
+        }
+        Node exact = node.children.get(segments[index]);
+        if (exact != null) {
+            collect(exact, segments, index + 1, matches);
+        }
+        Node single = node.children.get(SINGLE_WILDCARD);
+        if (single != null) {
+            collect(single, segments, index + 1, matches);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final Set<Subscriber> subscribers = new LinkedHashSet<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && subscribers.isEmpty();
+        }
+
+        private void copyInto(Node target) {
+            target.subscribers.addAll(subscribers);
+            children.forEach((segment, child) -> {
+                Node copy = new Node();
+                child.copyInto(copy);
+                target.children.put(segment, copy);
+            });
+        }
+    }
+}
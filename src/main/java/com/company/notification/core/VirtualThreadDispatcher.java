@@ -0,0 +1,195 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.filters.EventFilter;
+import com.company.notification.model.subscriber.Subscriber;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Dispatcher that gives every subscriber its own virtual thread. The thread blocks on the
+ * subscriber's bounded mailbox and passes each accepted event to the handler, so subscribers
+ * are isolated from each other without sizing a platform thread pool. The default handler
+ * enqueues and then processes the subscriber's queue on that thread, so delivery does not wait
+ * for anyone to call {@link Subscriber#processQueue()}.
+ * <p>
+ * Workers start on {@link #register}. Unregistering closes the mailbox; the worker delivers
+ * what is left and then retires, unless the subscriber was registered again in the meantime.
+ * <p>
+ * Requires a Java 21 runtime. The class is looked up reflectively so the project still builds
+ * with the default Java 17 target; see the {@code java21} profile in the pom.
+ */
+public class VirtualThreadDispatcher implements EventDispatcher {
+
+    private static final Logger logger = Logger.getLogger(VirtualThreadDispatcher.class.getName());
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = lookupVirtualThreadFactory();
+
+    private final Map<Subscriber, SubscriberWorker> workers = new ConcurrentHashMap<>();
+    private final BiConsumer<Subscriber, Event> handler;
+    private final int mailboxCapacity;
+    private volatile boolean shutdown;
+
+    public VirtualThreadDispatcher() {
+        this(VirtualThreadDispatcher::enqueueAndProcess);
+    }
+
+    public VirtualThreadDispatcher(BiConsumer<Subscriber, Event> handler) {
+        this(handler, AsyncDispatcher.DEFAULT_MAILBOX_CAPACITY);
+    }
+
+    public VirtualThreadDispatcher(BiConsumer<Subscriber, Event> handler, int mailboxCapacity) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler cannot be null");
+        }
+        if (mailboxCapacity <= 0) {
+            throw new IllegalArgumentException("Mailbox capacity must be greater than 0");
+        }
+        this.handler = handler;
+        this.mailboxCapacity = mailboxCapacity;
+    }
+
+    private static void enqueueAndProcess(Subscriber subscriber, Event event) {
+        subscriber.enqueue(event);
+        if (subscriber.getQueueSize() > 0) {
+            subscriber.processQueue();
+        }
+    }
+
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    @Override
+    public void dispatch(Subscriber subscriber, EventFilter filter, Event event) {
+        if (shutdown) {
+            logger.warning("Dispatcher is shut down. Event for " + subscriber.getName() + " dropped.");
+            return;
+        }
+        SubscriberWorker worker = workers.get(subscriber);
+        if (worker == null) {
+            return; // not registered (any more): the route that sent this is stale
+        }
+        // A full mailbox counts and logs its own drops at a bounded rate; a closed one rejects stale routes
+        worker.mailbox.offer(filter, event);
+    }
+
+    @Override
+    public void register(Subscriber subscriber) {
+        SubscriberWorker worker = workers.compute(subscriber, (s, current) -> {
+            if (current == null) {
+                return shutdown ? null : startWorker(s);
+            }
+            current.mailbox.reopen();
+            return current;
+        });
+        if (worker != null && shutdown) {
+            // shutdown() may have cleared the map before this worker was added
+            workers.remove(subscriber, worker);
+            worker.stop();
+        }
+    }
+
+    @Override
+    public void unregister(Subscriber subscriber) {
+        SubscriberWorker worker = workers.get(subscriber);
+        if (worker != null) {
+            worker.mailbox.close();
+            worker.wake();
+        }
+    }
+
+    // Atomic with register(), so a worker is either reopened or retired, never both
+    private boolean retire(SubscriberWorker worker) {
+        Subscriber subscriber = worker.mailbox.subscriber();
+        workers.computeIfPresent(subscriber, (s, current) -> current == worker && worker.mailbox.isRetired() ? null : current);
+        return workers.get(subscriber) != worker;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        workers.values().forEach(SubscriberWorker::stop);
+        workers.clear();
+        logger.info("Virtual thread dispatcher shut down");
+    }
+
+    public int getActiveSubscriberCount() {
+        return workers.size();
+    }
+
+    public long getDroppedEventCount(Subscriber subscriber) {
+        SubscriberWorker worker = workers.get(subscriber);
+        return worker == null ? 0 : worker.mailbox.droppedCount();
+    }
+
+    private SubscriberWorker startWorker(Subscriber subscriber) {
+        SubscriberWorker worker = new SubscriberWorker(new Mailbox(subscriber, mailboxCapacity, handler), this::retire);
+        Thread thread = VIRTUAL_THREAD_FACTORY.newThread(worker);
+        thread.setName("EventSubscriber-" + subscriber.getName());
+        worker.thread = thread;
+        thread.start();
+        return worker;
+    }
+
+    private static ThreadFactory lookupVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static final class SubscriberWorker implements Runnable {
+        private final Mailbox mailbox;
+        private final Predicate<SubscriberWorker> retire;
+        private volatile Thread thread;
+        private volatile boolean running = true;
+
+        private SubscriberWorker(Mailbox mailbox, Predicate<SubscriberWorker> retire) {
+            this.mailbox = mailbox;
+            this.retire = retire;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    if (!mailbox.isClosed()) {
+                        mailbox.takeAndDeliver();
+                    } else if (!mailbox.deliverNext()) {
+                        if (retire.test(this)) {
+                            return;
+                        }
+                        Thread.yield(); // an offer that got past the closed check is still in flight
+                    }
+                } catch (InterruptedException e) {
+                    // Woken by unregister or stop; the loop re-checks both
+                }
+            }
+            // Hand over whatever was queued before the stop request
+            while (mailbox.deliverNext()) {
+            }
+        }
+
+        private void wake() {
+            Thread t = thread;
+            if (t != null) {
+                t.interrupt();
+            }
+        }
+
+        private void stop() {
+            running = false;
+            wake();
+        }
+    }
+}
@@ -16,14 +16,22 @@ public class HeartBeatEvent implements Event {
     }
 
     public HeartBeatEvent(String publisherId, Priority priority, String taskName, String taskDescription) {
+        this(publisherId, priority, taskName, taskDescription, LocalDateTime.now());
+    }
+
+    // Restores an event with its original timestamp, e.g. when reading it back from storage
+    public HeartBeatEvent(String publisherId, Priority priority, String taskName, String taskDescription, LocalDateTime timeStamp) {
         if (publisherId == null || publisherId.isBlank()) {
             throw new IllegalArgumentException("Publisher ID must not be null or blank");
         }
         if (priority == null) {
             throw new IllegalArgumentException("Priority must not be null");
         }
+        if (timeStamp == null) {
+            throw new IllegalArgumentException("Timestamp must not be null");
+        }
 
-        this.timeStamp = LocalDateTime.now();
+        this.timeStamp = timeStamp;
         this.publisherId = publisherId;
         this.priority = priority;
         this.taskName = (taskName == null || taskName.isBlank()) ? "Heart Beat" : taskName;
@@ -12,6 +12,11 @@ public class PriorityEvent implements Event {
     private final String sourcePublisherId;
 
     public PriorityEvent(String taskName, Priority priority, String taskDescription, String sourcePublisherId) {
+        this(taskName, priority, taskDescription, sourcePublisherId, LocalDateTime.now());
+    }
+
+    // Restores an event with its original timestamp, e.g. when reading it back from storage
+    public PriorityEvent(String taskName, Priority priority, String taskDescription, String sourcePublisherId, LocalDateTime timeStamp) {
         this.taskName = taskName;
         // null check
         if (priority == null) {
@@ -23,8 +28,11 @@ public class PriorityEvent implements Event {
         if (sourcePublisherId == null || sourcePublisherId.isEmpty()) {
             throw new IllegalArgumentException("Source publisher ID cannot be null or empty");
         }
+        if (timeStamp == null) {
+            throw new IllegalArgumentException("Timestamp cannot be null");
+        }
         this.priority = priority;
-        this.timeStamp = LocalDateTime.now();
+        this.timeStamp = timeStamp;
         this.taskDescription = taskDescription;
         this.sourcePublisherId = sourcePublisherId;
     }
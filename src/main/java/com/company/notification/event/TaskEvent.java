@@ -12,6 +12,11 @@ public class TaskEvent implements Event {
 
 
     public TaskEvent(String taskName,String taskDescription , String sourcePublisherId, Priority priority) {
+        this(taskName, taskDescription, sourcePublisherId, priority, LocalDateTime.now());
+    }
+
+    // Restores an event with its original timestamp, e.g. when reading it back from storage
+    public TaskEvent(String taskName, String taskDescription, String sourcePublisherId, Priority priority, LocalDateTime timeStamp) {
         //null check
         if (taskDescription == null || taskDescription.isEmpty()) {
             throw new IllegalArgumentException("Task description cannot be null or empty");
@@ -25,10 +30,13 @@ public class TaskEvent implements Event {
         if (priority == null) {
             throw new IllegalArgumentException("Priority cannot be null");
         }
+        if (timeStamp == null) {
+            throw new IllegalArgumentException("Timestamp cannot be null");
+        }
         this.taskDescription = taskDescription;
         this.taskName = taskName;
         this.sourcePublisherId = sourcePublisherId;
-        this.timeStamp = LocalDateTime.now();
+        this.timeStamp = timeStamp;
         this.priority = priority;
     }
 
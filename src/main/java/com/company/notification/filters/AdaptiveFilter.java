@@ -0,0 +1,146 @@
+package com.company.notification.filters;
+
+import com.company.notification.event.Event;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compiled n-ary AND/OR produced by {@link FilterCompiler}. Children are evaluated with
+ * short-circuiting in an order that is re-computed from observed pass rates: every
+ * {@value #SAMPLE_INTERVAL}th event evaluates all children so the rates are not skewed by the
+ * short-circuit, and after {@value #SAMPLES_PER_REORDER} samples the children are re-sorted by
+ * expected cost per decision.
+ * <p>
+ * Counters are updated without synchronization on the fast path and are therefore approximate,
+ * which is all the ordering heuristic needs.
+ */
+final class AdaptiveFilter implements EventFilter {
+
+    enum Mode {
+        ALL_OF,
+        ANY_OF
+    }
+
+    static final int SAMPLE_INTERVAL = 64;
+    static final int SAMPLES_PER_REORDER = 32;
+
+    private final Mode mode;
+    private final EventFilter[] children;
+    private final int[] costs;
+    private final long[] samplePasses;
+    private final int staticMask;
+    private long samples;
+    private long evaluations;
+    private volatile EventFilter[] order;
+
+    AdaptiveFilter(Mode mode, List<EventFilter> children) {
+        this.mode = mode;
+        this.children = children.toArray(new EventFilter[0]);
+        this.costs = new int[this.children.length];
+        for (int i = 0; i < this.children.length; i++) {
+            costs[i] = FilterCompiler.estimateCost(this.children[i]);
+        }
+        this.samplePasses = new long[this.children.length];
+        this.staticMask = mode == Mode.ALL_OF ? new AndFilter(children).staticMask() : new OrFilter(children).staticMask();
+        // Until there are statistics, cheapest first
+        Integer[] indexes = indexes();
+        Arrays.sort(indexes, Comparator.comparingInt(i -> costs[i]));
+        this.order = toFilters(indexes);
+    }
+
+    @Override
+    public boolean shouldProcess(Event event) {
+        if ((++evaluations & (SAMPLE_INTERVAL - 1)) == 0) {
+            return sample(event);
+        }
+        EventFilter[] current = order;
+        if (mode == Mode.ALL_OF) {
+            for (EventFilter child : current) {
+                if (!child.shouldProcess(event)) return false;
+            }
+            return true;
+        }
+        for (EventFilter child : current) {
+            if (child.shouldProcess(event)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int staticMask() {
+        return staticMask;
+    }
+
+    Mode mode() {
+        return mode;
+    }
+
+    List<EventFilter> children() {
+        return List.of(children);
+    }
+
+    List<EventFilter> currentOrder() {
+        return List.of(order);
+    }
+
+    int cost() {
+        int total = 0;
+        for (int cost : costs) total += cost;
+        return total;
+    }
+
+    private synchronized boolean sample(Event event) {
+        boolean all = true;
+        boolean any = false;
+        for (int i = 0; i < children.length; i++) {
+            boolean passed = children[i].shouldProcess(event);
+            if (passed) samplePasses[i]++;
+            all &= passed;
+            any |= passed;
+        }
+        if (++samples % SAMPLES_PER_REORDER == 0) {
+            reorder();
+        }
+        return mode == Mode.ALL_OF ? all : any;
+    }
+
+    // Expected cost of reaching a decision: AND wants cheap, rarely-passing children first;
+    // OR wants cheap, often-passing children first.
+    private void reorder() {
+        double[] score = new double[children.length];
+        for (int i = 0; i < children.length; i++) {
+            // Laplace smoothing keeps never/always-passing children from dividing by zero
+            double passRate = (samplePasses[i] + 1.0) / (samples + 2.0);
+            double decisive = mode == Mode.ALL_OF ? 1.0 - passRate : passRate;
+            score[i] = costs[i] / decisive;
+        }
+        Integer[] indexes = indexes();
+        Arrays.sort(indexes, Comparator.comparingDouble(i -> score[i]));
+        order = toFilters(indexes);
+
+        // Halve the history so the order keeps tracking the current event mix
+        for (int i = 0; i < samplePasses.length; i++) {
+            samplePasses[i] /= 2;
+        }
+        samples /= 2;
+    }
+
+    private Integer[] indexes() {
+        Integer[] indexes = new Integer[children.length];
+        for (int i = 0; i < indexes.length; i++) indexes[i] = i;
+        return indexes;
+    }
+
+    private EventFilter[] toFilters(Integer[] indexes) {
+        EventFilter[] filters = new EventFilter[indexes.length];
+        for (int i = 0; i < indexes.length; i++) filters[i] = children[indexes[i]];
+        return filters;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveFilter{" + mode + ", order=" + Arrays.toString(order) + '}';
+    }
+}
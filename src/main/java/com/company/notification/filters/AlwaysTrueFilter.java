@@ -2,9 +2,26 @@ package com.company.notification.filters;
 
 import com.company.notification.event.Event;
 
+import java.util.Objects;
+
 public class AlwaysTrueFilter implements EventFilter{
     @Override
     public boolean shouldProcess(Event event) {
         return true;
     }
+
+    @Override
+    public int staticMask() {
+        return FilterMask.ALL;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AlwaysTrueFilter;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(AlwaysTrueFilter.class);
+    }
 }
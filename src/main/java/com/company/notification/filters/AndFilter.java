@@ -0,0 +1,67 @@
+package com.company.notification.filters;
+
+import com.company.notification.event.Event;
+
+import java.util.List;
+
+public class AndFilter implements EventFilter {
+    private final List<EventFilter> filters;
+
+    public AndFilter(List<EventFilter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            throw new IllegalArgumentException("Filters cannot be null or empty");
+        }
+        for (EventFilter filter : filters) {
+            if (filter == null) {
+                throw new IllegalArgumentException("Filters cannot contain null");
+            }
+        }
+        this.filters = List.copyOf(filters);
+    }
+
+    public List<EventFilter> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean shouldProcess(Event event) {
+        for (EventFilter filter : filters) {
+            if (!filter.shouldProcess(event)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int staticMask() {
+        // Dynamic children may accept anything, so only the static ones narrow the buckets
+        int mask = FilterMask.ALL;
+        boolean anyStatic = false;
+        for (EventFilter filter : filters) {
+            int childMask = filter.staticMask();
+            if (childMask != FilterMask.DYNAMIC) {
+                mask &= childMask;
+                anyStatic = true;
+            }
+        }
+        return anyStatic ? mask : FilterMask.DYNAMIC;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AndFilter that)) return false;
+        return filters.equals(that.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return filters.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AndFilter{" + filters + '}';
+    }
+}
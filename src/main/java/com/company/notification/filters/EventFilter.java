@@ -1,7 +1,32 @@
 package com.company.notification.filters;
 
 import com.company.notification.event.Event;
+
+import java.util.List;
+
 @FunctionalInterface
 public interface EventFilter {
     boolean shouldProcess(Event event);
+
+    /**
+     * Filters whose decision depends only on {@link Event#getType()} and {@link Event#getPriority()}
+     * can return the {@link FilterMask} of the buckets they may accept, which lets the bus skip
+     * {@link #shouldProcess(Event)} for events outside those buckets. The mask may be wider than
+     * what the filter really accepts, but never narrower.
+     */
+    default int staticMask() {
+        return FilterMask.DYNAMIC;
+    }
+
+    default EventFilter and(EventFilter other) {
+        return new AndFilter(List.of(this, other));
+    }
+
+    default EventFilter or(EventFilter other) {
+        return new OrFilter(List.of(this, other));
+    }
+
+    default EventFilter negate() {
+        return new NotFilter(this);
+    }
 }
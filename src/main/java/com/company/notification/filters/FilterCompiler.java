@@ -0,0 +1,78 @@
+package com.company.notification.filters;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns a tree of {@link AndFilter}/{@link OrFilter}/{@link NotFilter} into an equivalent filter
+ * that is cheaper to evaluate: nested operators of the same kind are flattened, double
+ * negations removed, identical leaves de-duplicated (by {@code equals}), {@link AlwaysTrueFilter}
+ * folded away, and the remaining n-ary nodes become self-reordering {@link AdaptiveFilter}s.
+ * Filters the compiler does not know are returned unchanged.
+ */
+public final class FilterCompiler {
+
+    private static final int STATIC_LEAF_COST = 1;
+    private static final int DYNAMIC_LEAF_COST = 4;
+
+    private FilterCompiler() {
+    }
+
+    public static EventFilter compile(EventFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        if (filter instanceof AndFilter and) {
+            return compileNary(AdaptiveFilter.Mode.ALL_OF, and.getFilters());
+        }
+        if (filter instanceof OrFilter or) {
+            return compileNary(AdaptiveFilter.Mode.ANY_OF, or.getFilters());
+        }
+        if (filter instanceof NotFilter not) {
+            if (not.getFilter() instanceof NotFilter inner) {
+                return compile(inner.getFilter());
+            }
+            EventFilter child = compile(not.getFilter());
+            return child == not.getFilter() ? not : new NotFilter(child);
+        }
+        return filter;
+    }
+
+    static int estimateCost(EventFilter filter) {
+        if (filter instanceof AdaptiveFilter adaptive) {
+            return adaptive.cost();
+        }
+        if (filter instanceof NotFilter not) {
+            return estimateCost(not.getFilter());
+        }
+        return filter.staticMask() == FilterMask.DYNAMIC ? DYNAMIC_LEAF_COST : STATIC_LEAF_COST;
+    }
+
+    private static EventFilter compileNary(AdaptiveFilter.Mode mode, List<EventFilter> filters) {
+        Set<EventFilter> flattened = new LinkedHashSet<>();
+        for (EventFilter filter : filters) {
+            EventFilter child = compile(filter);
+            if (child instanceof AdaptiveFilter adaptive && adaptive.mode() == mode) {
+                flattened.addAll(adaptive.children());
+            } else {
+                flattened.add(child);
+            }
+        }
+
+        if (flattened.stream().anyMatch(AlwaysTrueFilter.class::isInstance)) {
+            if (mode == AdaptiveFilter.Mode.ANY_OF) {
+                return new AlwaysTrueFilter();
+            }
+            flattened.removeIf(AlwaysTrueFilter.class::isInstance);
+            if (flattened.isEmpty()) {
+                return new AlwaysTrueFilter();
+            }
+        }
+        if (flattened.size() == 1) {
+            return flattened.iterator().next();
+        }
+        return new AdaptiveFilter(mode, new ArrayList<>(flattened));
+    }
+}
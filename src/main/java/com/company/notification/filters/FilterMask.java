@@ -0,0 +1,58 @@
+package com.company.notification.filters;
+
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.Priority;
+
+/**
+ * Bit-set helpers for {@link EventFilter#staticMask()}. Each bit stands for one
+ * ({@link EventTypes}, {@link Priority}) bucket, so a mask lists exactly the buckets a filter
+ * accepts.
+ */
+public final class FilterMask {
+
+    // The filter has to be evaluated against every event
+    public static final int DYNAMIC = -1;
+    public static final int NONE = 0;
+
+    private static final int PRIORITY_COUNT = Priority.values().length;
+    private static final int BUCKET_COUNT = EventTypes.values().length * PRIORITY_COUNT;
+
+    public static final int ALL = (1 << BUCKET_COUNT) - 1;
+
+    private FilterMask() {
+    }
+
+    public static int bucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    public static int bucketIndex(EventTypes type, Priority priority) {
+        return type.ordinal() * PRIORITY_COUNT + priority.ordinal();
+    }
+
+    public static int of(EventTypes type, Priority priority) {
+        return 1 << bucketIndex(type, priority);
+    }
+
+    public static int forPriority(Priority priority) {
+        if (priority == null) return NONE;
+        int mask = NONE;
+        for (EventTypes type : EventTypes.values()) {
+            mask |= of(type, priority);
+        }
+        return mask;
+    }
+
+    public static int forType(EventTypes type) {
+        if (type == null) return NONE;
+        int mask = NONE;
+        for (Priority priority : Priority.values()) {
+            mask |= of(type, priority);
+        }
+        return mask;
+    }
+
+    public static boolean accepts(int mask, int bucketIndex) {
+        return (mask & (1 << bucketIndex)) != 0;
+    }
+}
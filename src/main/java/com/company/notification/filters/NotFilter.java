@@ -0,0 +1,44 @@
+package com.company.notification.filters;
+
+import com.company.notification.event.Event;
+
+import java.util.Objects;
+
+public class NotFilter implements EventFilter {
+    private final EventFilter filter;
+
+    public NotFilter(EventFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        this.filter = filter;
+    }
+
+    public EventFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean shouldProcess(Event event) {
+        return !filter.shouldProcess(event);
+    }
+
+    // A child mask may over-approximate, so its complement cannot be trusted; evaluated per event
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NotFilter that)) return false;
+        return filter.equals(that.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(NotFilter.class, filter);
+    }
+
+    @Override
+    public String toString() {
+        return "NotFilter{" + filter + '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.notification.filters;
+
+import com.company.notification.event.Event;
+
+import java.util.List;
+
+public class OrFilter implements EventFilter {
+    private final List<EventFilter> filters;
+
+    public OrFilter(List<EventFilter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            throw new IllegalArgumentException("Filters cannot be null or empty");
+        }
+        for (EventFilter filter : filters) {
+            if (filter == null) {
+                throw new IllegalArgumentException("Filters cannot contain null");
+            }
+        }
+        this.filters = List.copyOf(filters);
+    }
+
+    public List<EventFilter> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean shouldProcess(Event event) {
+        for (EventFilter filter : filters) {
+            if (filter.shouldProcess(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int staticMask() {
+        int mask = FilterMask.NONE;
+        for (EventFilter filter : filters) {
+            int childMask = filter.staticMask();
+            if (childMask == FilterMask.DYNAMIC) {
+                return FilterMask.DYNAMIC;
+            }
+            mask |= childMask;
+        }
+        return mask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OrFilter that)) return false;
+        return filters.equals(that.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return filters.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "OrFilter{" + filters + '}';
+    }
+}
@@ -3,6 +3,8 @@ package com.company.notification.filters;
 import com.company.notification.event.Event;
 import com.company.notification.event.Priority;
 
+import java.util.Objects;
+
 public class PriorityFilter implements EventFilter {
     private final Priority priority;
 
@@ -15,6 +17,23 @@ public class PriorityFilter implements EventFilter {
         return event.getPriority() == priority;
     }
 
+    @Override
+    public int staticMask() {
+        return FilterMask.forPriority(priority);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PriorityFilter that)) return false;
+        return priority == that.priority;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(priority);
+    }
+
 
     @Override
     public String toString() {
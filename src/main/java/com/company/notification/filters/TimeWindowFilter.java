@@ -3,6 +3,7 @@ package com.company.notification.filters;
 import com.company.notification.event.Event;
 
 import java.time.LocalTime;
+import java.util.Objects;
 
 public class TimeWindowFilter implements EventFilter {
    private final LocalTime startTime;
@@ -26,4 +27,24 @@ public class TimeWindowFilter implements EventFilter {
         return !eventTime.isBefore(startTime) && !eventTime.isAfter(endTime);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TimeWindowFilter that)) return false;
+        return startTime.equals(that.startTime) && endTime.equals(that.endTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startTime, endTime);
+    }
+
+    @Override
+    public String toString() {
+        return "TimeWindowFilter{" +
+                "startTime=" + startTime +
+                ", endTime=" + endTime +
+                '}';
+    }
+
 }
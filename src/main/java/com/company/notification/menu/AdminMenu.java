@@ -24,6 +24,8 @@ public class AdminMenu {
     private static final String CYAN = "\u001B[36m";
     private static final String BOLD = "\u001B[1m";
 
+    private static final int EVENTS_PER_PAGE = 50;
+
     public AdminMenu(EventBus eventBus, Subscriber admin, EventHistory eventHistory) {
         this.eventBus = Objects.requireNonNull(eventBus, "EventBus must not be null");
         this.admin = Objects.requireNonNull(admin, "Admin subscriber must not be null");
@@ -63,14 +65,25 @@ public class AdminMenu {
         }
     }
 
+    // Pages through the history instead of loading all of it at once
     private void viewAllEvents() {
         System.out.println(BOLD + CYAN + "\n--- All Events ---" + RESET);
-        Optional.ofNullable(eventHistory.getAllEvents())
-                .filter(list -> !list.isEmpty())
-                .ifPresentOrElse(
-                        list -> list.forEach(System.out::println),
-                        () -> System.out.println(YELLOW + "No events found." + RESET)
-                );
+        EventHistory.Page page = eventHistory.readEvents(EventHistory.FIRST_SEQUENCE, EVENTS_PER_PAGE);
+        if (page.records().isEmpty()) {
+            System.out.println(YELLOW + "No events found." + RESET);
+            return;
+        }
+        while (true) {
+            page.records().forEach(System.out::println);
+            if (!page.hasMore()) {
+                return;
+            }
+            System.out.print(YELLOW + "Press Enter for more events, or 'q' to stop: " + RESET);
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            page = eventHistory.readEvents(page.nextSequence(), EVENTS_PER_PAGE);
+        }
     }
 
     private void viewEventsByType() {
@@ -30,18 +30,22 @@ public class SubscriberMenu {
             System.out.println("\n==== 📋 Subscriber Menu ====");
             System.out.println("1. Subscribe to Publisher");
             System.out.println("2. Unsubscribe from Publisher");
-            System.out.println("3. Change My Filter");
-            System.out.println("4. View and Process My Queue");
-            System.out.println("5. Exit");
+            System.out.println("3. Subscribe to Topic (e.g. billing.*, billing.#)");
+            System.out.println("4. Unsubscribe from Topic");
+            System.out.println("5. Change My Filter");
+            System.out.println("6. View and Process My Queue");
+            System.out.println("7. Exit");
             System.out.print("Enter your choice: ");
 
             int choice = readIntInput();
             switch (choice) {
                 case 1 -> subscribe();
                 case 2 -> unsubscribe();
-                case 3 -> changeFilter();
-                case 4 -> subscriber.processQueue();
-                case 5 -> {
+                case 3 -> subscribeTopic();
+                case 4 -> unsubscribeTopic();
+                case 5 -> changeFilter();
+                case 6 -> subscriber.processQueue();
+                case 7 -> {
                     System.out.println("Exiting Subscriber Menu...");
                     return;
                 }
@@ -105,6 +109,41 @@ public class SubscriberMenu {
         System.out.println("Unsubscribed from " + publisher.getName());
     }
 
+    private void subscribeTopic() {
+        System.out.print("Enter topic pattern: ");
+        String pattern = scanner.nextLine().trim();
+        EventFilter filter = getFilterFromUser();
+        try {
+            eventBus.subscribeTopic(subscriber, pattern, filter);
+            System.out.println("Subscribed to topic " + pattern);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid topic pattern: " + e.getMessage());
+        }
+    }
+
+    private void unsubscribeTopic() {
+        List<String> topics = eventBus.getTopicSubscriptions(subscriber).stream().sorted().toList();
+        if (topics.isEmpty()) {
+            System.out.println("You are not subscribed to any topics.");
+            return;
+        }
+
+        System.out.println("Your Topic Subscriptions:");
+        for (int i = 0; i < topics.size(); i++) {
+            System.out.println((i + 1) + ". " + topics.get(i));
+        }
+        System.out.print("Select topic to unsubscribe from: ");
+        int idx = readIntInput() - 1;
+
+        if (idx < 0 || idx >= topics.size()) {
+            System.out.println("Invalid selection.");
+            return;
+        }
+
+        eventBus.unsubscribeTopic(subscriber, topics.get(idx));
+        System.out.println("Unsubscribed from topic " + topics.get(idx));
+    }
+
     private void changeFilter() {
         if (subscriber == null || eventBus == null) {
             System.out.println("Subscriber or event system is not initialized.");
@@ -113,7 +152,7 @@ public class SubscriberMenu {
 
         Set<Publisher> subscriptions = eventBus.getPublishersForSubscriber(subscriber);
 
-        if (subscriptions == null || subscriptions.isEmpty()) {
+        if ((subscriptions == null || subscriptions.isEmpty()) && eventBus.getTopicSubscriptions(subscriber).isEmpty()) {
             System.out.println("You are not subscribed to any publishers.");
             return;
         }
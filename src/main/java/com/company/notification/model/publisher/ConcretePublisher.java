@@ -10,16 +10,28 @@ import java.util.UUID;
 public class ConcretePublisher implements Publisher {
     private final String name;
     private final String id;
+    private final String topic;
     private final LocalDateTime createdAt;
+    private final int hashCode;
 
     public ConcretePublisher(String name) {
+        this(name, name);
+    }
+
+    public ConcretePublisher(String name, String topic) {
         //null check
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Publisher name cannot be null or empty");
         }
+        if (topic == null || topic.isBlank()) {
+            throw new IllegalArgumentException("Publisher topic cannot be null or empty");
+        }
         this.name = name;
+        this.topic = topic;
         this.id = UUID.randomUUID().toString();
         this.createdAt = LocalDateTime.now();
+        // All identity fields are final, so the hash is computed once instead of on every routing lookup
+        this.hashCode = Objects.hash(name, id, createdAt);
     }
 
 
@@ -44,12 +56,18 @@ public class ConcretePublisher implements Publisher {
         return id;
     }
 
+    @Override
+    public String getTopic() {
+        return topic;
+    }
+
 
     @Override
     public String toString() {
         return "ConcretePublisher{" +
                 "name='" + name + '\'' +
                 ", id='" + id + '\'' +
+                ", topic='" + topic + '\'' +
                 ", createdAt=" + createdAt +
                 '}';
 
@@ -58,7 +76,7 @@ public class ConcretePublisher implements Publisher {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, id, createdAt);
+        return hashCode;
     }
 
     @Override
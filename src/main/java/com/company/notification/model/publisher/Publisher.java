@@ -4,10 +4,28 @@ package com.company.notification.model.publisher;
 import com.company.notification.core.EventBus;
 import com.company.notification.event.Event;
 
+import java.util.List;
+
 public interface Publisher {
     void publish(EventBus eventBus, Event event);
 
+    // Default keeps existing implementors compiling; the bus resolves routing once for the batch
+    default void publishBatch(EventBus eventBus, List<Event> events) {
+        if (eventBus == null) {
+            throw new IllegalArgumentException("Event bus cannot be null");
+        }
+        if (events == null) {
+            throw new IllegalArgumentException("Events cannot be null");
+        }
+        eventBus.publishBatch(this, events);
+    }
+
     String getName();
 
     String getId();
+
+    // Dot-separated topic used for wildcard subscriptions, e.g. billing.eu.invoice
+    default String getTopic() {
+        return getName();
+    }
 }
\ No newline at end of file
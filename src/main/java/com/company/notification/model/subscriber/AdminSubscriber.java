@@ -3,21 +3,26 @@ package com.company.notification.model.subscriber;
 import com.company.notification.event.Event;
 import com.company.notification.filters.EventFilter;
 
-import java.util.LinkedList;
+import java.util.Collection;
 import java.util.Objects;
-import java.util.Queue;
 
 public class AdminSubscriber extends BaseSubscriber implements Subscriber {
 
-    private final Queue<Event> queue;
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    private final EventQueue queue;
     private final EventFilter eventFilter;
 
     public AdminSubscriber(String name, EventFilter eventFilter) {
+        this(name, eventFilter, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    public AdminSubscriber(String name, EventFilter eventFilter, int queueCapacity, OverflowPolicy overflowPolicy) {
         super(name);
         if (eventFilter == null) {
             throw new IllegalArgumentException("Filter cannot be null");
         }
-        this.queue = new LinkedList<>();
+        this.queue = new BoundedEventQueue(queueCapacity, overflowPolicy);
         this.eventFilter = eventFilter;
     }
 
@@ -32,6 +37,14 @@ public class AdminSubscriber extends BaseSubscriber implements Subscriber {
 
     }
 
+    @Override
+    public void enqueueAll(Collection<? extends Event> events) {
+        for (Event event : events) {
+            if (event != null && eventFilter.shouldProcess(event))
+                queue.offer(event);
+        }
+    }
+
     @Override
     public void processQueue() {
         if (queue.isEmpty()) {
@@ -40,6 +53,10 @@ public class AdminSubscriber extends BaseSubscriber implements Subscriber {
         }
 
         System.out.println("\n [Admin: " + name + "] Processing event log:");
+        if (queue.droppedCount() > 0 || queue.rejectedCount() > 0) {
+            System.out.println(" [Admin: " + name + "] Queue overflowed so far: " + queue.droppedCount()
+                    + " dropped, " + queue.rejectedCount() + " rejected.");
+        }
 
         while (!queue.isEmpty()) {
             Event event = queue.poll();
@@ -54,6 +71,31 @@ public class AdminSubscriber extends BaseSubscriber implements Subscriber {
         return eventFilter;
     }
 
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+        return queue.overflowPolicy();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return queue.droppedCount();
+    }
+
+    @Override
+    public long getRejectedEventCount() {
+        return queue.rejectedCount();
+    }
+
     @Override
     public String toString() {
         return "AdminSubscriber{" +
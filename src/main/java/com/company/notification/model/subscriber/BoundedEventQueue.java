@@ -0,0 +1,148 @@
+package com.company.notification.model.subscriber;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.Priority;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-based bounded {@link EventQueue} that serves events in arrival order.
+ */
+class BoundedEventQueue implements EventQueue {
+
+    private final ArrayDeque<Event> entries = new ArrayDeque<>();
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    BoundedEventQueue(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0");
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public boolean offer(Event event) {
+        lock.lock();
+        try {
+            while (entries.size() >= capacity) {
+                switch (overflowPolicy) {
+                    case BLOCK -> {
+                        try {
+                            notFull.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            rejected.incrementAndGet();
+                            return false;
+                        }
+                    }
+                    case DROP_OLDEST -> {
+                        entries.poll();
+                        dropped.incrementAndGet();
+                    }
+                    case DROP_LOWEST_PRIORITY -> {
+                        if (!evictLowerPriorityThan(event)) {
+                            dropped.incrementAndGet();
+                            return false;
+                        }
+                        dropped.incrementAndGet();
+                    }
+                    case REJECT -> {
+                        rejected.incrementAndGet();
+                        return false;
+                    }
+                }
+            }
+            entries.add(event);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Event poll() {
+        lock.lock();
+        try {
+            Event event = entries.poll();
+            if (event == null) {
+                return null;
+            }
+            notFull.signal();
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Event peek() {
+        lock.lock();
+        try {
+            return entries.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    // Removes the oldest of the lowest-priority events if it ranks below the incoming one. Scans
+    // the queue; only runs when the subscriber is already behind
+    private boolean evictLowerPriorityThan(Event incoming) {
+        Priority lowest = null;
+        for (Event queued : entries) {
+            if (lowest == null || queued.getPriority().compareTo(lowest) < 0) lowest = queued.getPriority();
+        }
+        if (incoming.getPriority().compareTo(lowest) <= 0) {
+            return false;
+        }
+        for (Iterator<Event> it = entries.iterator(); it.hasNext(); ) {
+            if (it.next().getPriority() == lowest) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.notification.model.subscriber;
+
+import com.company.notification.event.Event;
+
+import java.util.Collection;
+
+// Capacity-bounded queue behind a subscriber, with the counters needed to size it
+interface EventQueue {
+
+    // Returns false if the event was not queued (rejected, or dropped in favour of queued events)
+    boolean offer(Event event);
+
+    default void offerAll(Collection<? extends Event> events) {
+        for (Event event : events) {
+            offer(event);
+        }
+    }
+
+    Event poll();
+
+    Event peek();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity();
+
+    OverflowPolicy overflowPolicy();
+
+    long droppedCount();
+
+    long rejectedCount();
+}
@@ -0,0 +1,13 @@
+package com.company.notification.model.subscriber;
+
+// What a full subscriber queue does with the next event
+public enum OverflowPolicy {
+    // The publishing thread waits until the subscriber makes room
+    BLOCK,
+    // The oldest queued event is evicted to make room
+    DROP_OLDEST,
+    // The lowest-priority queued event is evicted, unless the new event is no more important
+    DROP_LOWEST_PRIORITY,
+    // The new event is refused and counted
+    REJECT
+}
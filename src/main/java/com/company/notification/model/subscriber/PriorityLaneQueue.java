@@ -0,0 +1,229 @@
+package com.company.notification.model.subscriber;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.Priority;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-free bounded {@link EventQueue} with one FIFO lane per {@link Priority}. Any number of
+ * threads may offer concurrently with the draining thread; {@link #poll()} serves HIGH, then
+ * MEDIUM, then LOW, so both enqueue and dequeue are O(1).
+ * <p>
+ * Capacity is enforced with a CAS-reserved counter. The overflow paths take entries from the
+ * head of a lane, which is safe because the lanes are multi-consumer queues. Only the BLOCK
+ * policy takes a lock: a producer that finds the queue full parks on a condition until
+ * {@link #poll()} frees a slot.
+ */
+class PriorityLaneQueue implements EventQueue {
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final class Entry {
+        private final Event event;
+        private final long enqueuedAt;
+
+        private Entry(Event event, long enqueuedAt) {
+            this.event = event;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    // Indexed by Priority.ordinal(): LOW, MEDIUM, HIGH
+    private final ConcurrentLinkedQueue<Entry>[] lanes;
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    // BLOCK only: producers waiting for a slot, so poll() signals only when someone waits
+    private final ReentrantLock blockLock = new ReentrantLock();
+    private final Condition notFull = blockLock.newCondition();
+    private final AtomicInteger blockedProducers = new AtomicInteger();
+
+    PriorityLaneQueue(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0");
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.lanes = newLanes(Priority.values().length);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ConcurrentLinkedQueue<Entry>[] newLanes(int count) {
+        ConcurrentLinkedQueue<Entry>[] lanes = new ConcurrentLinkedQueue[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new ConcurrentLinkedQueue<>();
+        }
+        return lanes;
+    }
+
+    @Override
+    public boolean offer(Event event) {
+        int lane = laneOf(event);
+        int tries = 0;
+        while (!tryReserve()) {
+            switch (overflowPolicy) {
+                case BLOCK -> {
+                    if (tries++ < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else if (!awaitSlot()) {
+                        rejected.incrementAndGet();
+                        return false;
+                    }
+                }
+                case DROP_OLDEST -> evict(oldestLane());
+                case DROP_LOWEST_PRIORITY -> {
+                    int lowest = lowestNonEmptyLane();
+                    if (lowest >= lane) {
+                        dropped.incrementAndGet();
+                        return false;
+                    }
+                    evict(lowest);
+                }
+                case REJECT -> {
+                    rejected.incrementAndGet();
+                    return false;
+                }
+            }
+        }
+        lanes[lane].offer(new Entry(event, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public Event poll() {
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            Entry entry = lanes[i].poll();
+            if (entry != null) {
+                size.decrementAndGet();
+                if (blockedProducers.get() > 0) {
+                    signalNotFull();
+                }
+                return entry.event;
+            }
+        }
+        return null;
+    }
+
+    // Registers as a waiter before re-checking, so a poll() that frees the slot either sees the waiter or is seen
+    private boolean awaitSlot() {
+        blockLock.lock();
+        blockedProducers.incrementAndGet();
+        try {
+            while (size.get() >= capacity) {
+                notFull.await();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            blockedProducers.decrementAndGet();
+            blockLock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        blockLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            blockLock.unlock();
+        }
+    }
+
+    @Override
+    public Event peek() {
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            Entry entry = lanes[i].peek();
+            if (entry != null) {
+                return entry.event;
+            }
+        }
+        return null;
+    }
+
+    // Counts reserved slots, so it can briefly run ahead of what poll() can see
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    private static int laneOf(Event event) {
+        Priority priority = event.getPriority();
+        return (priority == null ? Priority.MEDIUM : priority).ordinal();
+    }
+
+    private boolean tryReserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // A racing consumer or producer may empty the lane first; the caller then simply retries
+    private void evict(int lane) {
+        if (lane >= 0 && lanes[lane].poll() != null) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+        } else {
+            Thread.onSpinWait();
+        }
+    }
+
+    private int oldestLane() {
+        int oldest = -1;
+        long oldestAt = 0;
+        for (int i = 0; i < lanes.length; i++) {
+            Entry head = lanes[i].peek();
+            if (head != null && (oldest < 0 || head.enqueuedAt - oldestAt < 0)) {
+                oldest = i;
+                oldestAt = head.enqueuedAt;
+            }
+        }
+        return oldest;
+    }
+
+    // lanes.length when every slot is reserved by offers still in flight; the incoming event is then dropped
+    private int lowestNonEmptyLane() {
+        for (int i = 0; i < lanes.length; i++) {
+            if (!lanes[i].isEmpty()) {
+                return i;
+            }
+        }
+        return lanes.length;
+    }
+}
@@ -3,10 +3,17 @@ package com.company.notification.model.subscriber;
 import com.company.notification.event.Event;
 import com.company.notification.filters.EventFilter;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface Subscriber {
     void enqueue(Event event);
+
+    default void enqueueAll(Collection<? extends Event> events) {
+        for (Event event : events) {
+            enqueue(event);
+        }
+    }
     void processQueue();
     String getName();
     void setName(String name);
@@ -14,5 +21,25 @@ public interface Subscriber {
 
     EventFilter getFilter();
 
+    // Queue occupancy and overflow counters, for sizing subscriber queues
+    default int getQueueSize() {
+        return 0;
+    }
+
+    default int getQueueCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    default OverflowPolicy getOverflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    default long getDroppedEventCount() {
+        return 0;
+    }
+
+    default long getRejectedEventCount() {
+        return 0;
+    }
 
 }
\ No newline at end of file
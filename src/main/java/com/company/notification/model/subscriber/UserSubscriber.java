@@ -2,18 +2,24 @@ package com.company.notification.model.subscriber;
 
 import com.company.notification.event.Event;
 import com.company.notification.filters.EventFilter;
-import com.company.notification.utils.EventComparator;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
-import java.util.PriorityQueue;
-import java.util.Queue;
 
 public class UserSubscriber extends BaseSubscriber implements Subscriber{
-  private final Queue<Event> queue;
+  public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+  private final EventQueue queue;
   private final EventFilter eventFilter;
     public UserSubscriber(String name, EventFilter eventFilter) {
+        this(name, eventFilter, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    public UserSubscriber(String name, EventFilter eventFilter, int queueCapacity, OverflowPolicy overflowPolicy) {
         super(name);
-        this.queue =new PriorityQueue<>(new EventComparator());
+        this.queue = new PriorityLaneQueue(queueCapacity, overflowPolicy);
         this.eventFilter = eventFilter;
     }
 
@@ -32,6 +38,16 @@ public class UserSubscriber extends BaseSubscriber implements Subscriber{
 
     }
 
+    @Override
+    public void enqueueAll(Collection<? extends Event> events) {
+        List<Event> accepted = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (event != null && (eventFilter == null || eventFilter.shouldProcess(event)))
+                accepted.add(event);
+        }
+        queue.offerAll(accepted);
+    }
+
 
 
     @Override
@@ -42,9 +58,14 @@ public class UserSubscriber extends BaseSubscriber implements Subscriber{
         }
 
         System.out.println("\u001B[34m[" + name + "] Processing events (Priority-based):\u001B[0m");
+        if (queue.droppedCount() > 0 || queue.rejectedCount() > 0) {
+            System.out.println("\u001B[31m[" + name + "] Queue overflowed so far: " + queue.droppedCount()
+                    + " dropped, " + queue.rejectedCount() + " rejected.\u001B[0m");
+        }
 
-        while (!queue.isEmpty()) {
-            Event event = queue.poll();
+        // Drains HIGH, then MEDIUM, then LOW; events published meanwhile are picked up in the same pass
+        Event event;
+        while ((event = queue.poll()) != null) {
             if (event instanceof com.company.notification.event.TaskEvent taskEvent) {
                 System.out.println("\u001B[36m[Task Event]\u001B[0m");
                 System.out.println("\u001B[36m  Task Name     : \u001B[0m" + taskEvent.getTaskName());
@@ -72,6 +93,31 @@ public class UserSubscriber extends BaseSubscriber implements Subscriber{
         return eventFilter;
     }
 
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+        return queue.overflowPolicy();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return queue.droppedCount();
+    }
+
+    @Override
+    public long getRejectedEventCount() {
+        return queue.rejectedCount();
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,117 @@
+package com.company.notification.codec;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.HeartBeatEvent;
+import com.company.notification.event.Priority;
+import com.company.notification.event.PriorityEvent;
+import com.company.notification.event.TaskEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EventCodecTest {
+
+    private final PublisherDictionary dictionary = new PublisherDictionary();
+    private final EventCodec codec = new EventCodec(dictionary);
+
+    @Test
+    void eventsShouldRoundTripThroughHeapAndDirectBuffers() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789);
+        List<Event> events = List.of(
+                new TaskEvent("Deploy", "Roll out v2 — ünïcödé 🚀", "pub-1", Priority.HIGH, time),
+                new PriorityEvent(null, Priority.LOW, "Disk almost full", "pub-2", time),
+                new HeartBeatEvent("pub-1", Priority.MEDIUM, "Ping", "Still alive", time));
+
+        for (ByteBuffer buffer : List.of(ByteBuffer.allocate(1024), ByteBuffer.allocateDirect(1024))) {
+            events.forEach(event -> codec.encode(event, buffer));
+            buffer.flip();
+            for (Event event : events) {
+                assertEquals(event, codec.decode(buffer));
+            }
+            assertFalse(buffer.hasRemaining());
+        }
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void publisherIdsShouldBeDictionaryCoded() {
+        ByteBuffer first = ByteBuffer.allocate(256);
+        ByteBuffer second = ByteBuffer.allocate(256);
+        String longId = "publisher-with-a-rather-long-identifier";
+
+        codec.encode(new TaskEvent("A", "B", longId, Priority.LOW), first);
+        codec.encode(new TaskEvent("A", "B", longId, Priority.LOW), second);
+
+        assertEquals(first.position(), second.position());
+        assertTrue(first.position() < longId.length());
+        assertEquals(0, dictionary.lookup(longId));
+    }
+
+    @Test
+    void decoderShouldSkipBodyFieldsItDoesNotKnow() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        TaskEvent event = new TaskEvent("Task", "Desc", "pub-1", Priority.HIGH);
+        codec.encode(event, buffer);
+
+        // Simulate a newer writer appending two extra bytes to the body
+        ByteBuffer extended = ByteBuffer.allocate(256);
+        buffer.flip();
+        extended.put(buffer.get());
+        extended.put(buffer.get());
+        int bodyLength = EventCodec.readVarInt(buffer);
+        EventCodec.writeVarInt(extended, bodyLength + 2);
+        extended.put(buffer);
+        extended.put((byte) 7).put((byte) 7);
+        extended.putInt(42);
+        extended.flip();
+
+        assertEquals(event, codec.decode(extended));
+        assertEquals(42, extended.getInt());
+    }
+
+    @Test
+    void unknownVersionShouldBeRejected() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put((byte) (EventCodec.FORMAT_VERSION + 1)).flip();
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(buffer));
+    }
+
+    @Test
+    void unsupportedEventsAndFullBuffersShouldFail() {
+        Event custom = mock(Event.class);
+        when(custom.getType()).thenReturn(EventTypes.TASK);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(custom, ByteBuffer.allocate(64)));
+        assertThrows(BufferOverflowException.class,
+                () -> codec.encode(new TaskEvent("Task", "Desc", "pub-1", Priority.LOW), ByteBuffer.allocate(8)));
+    }
+
+    @Test
+    void varIntsShouldRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        int[] values = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1};
+        for (int value : values) {
+            EventCodec.writeVarInt(buffer, value);
+        }
+        buffer.flip();
+        for (int value : values) {
+            int start = buffer.position();
+            assertEquals(value, EventCodec.readVarInt(buffer));
+            assertEquals(EventCodec.varIntSize(value), buffer.position() - start);
+        }
+    }
+
+    @Test
+    void dictionaryShouldRejectUnknownCodes() {
+        assertThrows(IllegalArgumentException.class, () -> dictionary.entry(0));
+        assertEquals(-1, dictionary.lookup("missing"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.model.publisher.Publisher;
+import com.company.notification.model.subscriber.Subscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsyncDispatcherTest {
+
+    private AsyncDispatcher dispatcher;
+    private EventBus eventBus;
+    private Publisher mockPublisher;
+    private Event mockEvent;
+
+    @BeforeEach
+    void setup() {
+        dispatcher = new AsyncDispatcher(2, 4);
+        eventBus = new EventBus(mock(EventHistory.class), dispatcher);
+
+        mockPublisher = mock(Publisher.class);
+        when(mockPublisher.getName()).thenReturn("AsyncPublisher");
+        when(mockPublisher.getId()).thenReturn("pub-async");
+        mockEvent = mock(Event.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Test
+    void publishShouldDeliverOnDispatcherThread() {
+        Subscriber subscriber = mock(Subscriber.class);
+        when(subscriber.getName()).thenReturn("Sub");
+
+        eventBus.subscribe(subscriber, mockPublisher, e -> true);
+        eventBus.publishFromPublisher(mockPublisher, mockEvent);
+
+        verify(subscriber, timeout(2000).times(1)).enqueue(mockEvent);
+    }
+
+    @Test
+    void filterShouldRunOnDispatcherThread() {
+        Subscriber subscriber = mock(Subscriber.class);
+        when(subscriber.getName()).thenReturn("Rejector");
+
+        eventBus.subscribe(subscriber, mockPublisher, e -> false);
+        eventBus.publishFromPublisher(mockPublisher, mockEvent);
+
+        verify(subscriber, after(300).never()).enqueue(any());
+    }
+
+    @Test
+    void slowSubscriberShouldNotBlockPublisherOrOtherSubscribers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Subscriber slow = mock(Subscriber.class);
+        when(slow.getName()).thenReturn("Slow");
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slow).enqueue(any());
+        Subscriber fast = mock(Subscriber.class);
+        when(fast.getName()).thenReturn("Fast");
+
+        eventBus.subscribe(slow, mockPublisher, e -> true);
+        eventBus.subscribe(fast, mockPublisher, e -> true);
+
+        long start = System.nanoTime();
+        eventBus.publishFromPublisher(mockPublisher, mockEvent);
+        eventBus.publishFromPublisher(mockPublisher, mockEvent);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        verify(fast, timeout(2000).times(2)).enqueue(mockEvent);
+        assertTrue(elapsedMillis < 1000, "Publish should only hand off to mailboxes");
+        release.countDown();
+    }
+
+    @Test
+    void fullMailboxShouldDropAndCountEvents() {
+        CountDownLatch release = new CountDownLatch(1);
+        Subscriber blocked = mock(Subscriber.class);
+        when(blocked.getName()).thenReturn("Blocked");
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(blocked).enqueue(any());
+
+        eventBus.subscribe(blocked, mockPublisher, e -> true);
+        for (int i = 0; i < 10; i++) {
+            eventBus.publishFromPublisher(mockPublisher, mockEvent);
+        }
+
+        release.countDown();
+        assertTrue(dispatcher.getDroppedEventCount(blocked) > 0);
+        assertTrue(dispatcher.getDroppedEventCount() >= dispatcher.getDroppedEventCount(blocked));
+    }
+
+    @Test
+    void queuedEventsShouldKeepTheFilterTheyWereRoutedWith() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Event first = mock(Event.class);
+        Event accepted = mock(Event.class);
+        Event rejected = mock(Event.class);
+        Subscriber subscriber = mock(Subscriber.class);
+        when(subscriber.getName()).thenReturn("Sub");
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(subscriber).enqueue(first);
+
+        dispatcher.register(subscriber);
+        dispatcher.dispatch(subscriber, e -> true, first);
+        dispatcher.dispatch(subscriber, e -> true, accepted);
+        dispatcher.dispatch(subscriber, e -> false, rejected);
+        release.countDown();
+
+        verify(subscriber, timeout(2000)).enqueue(accepted);
+        verify(subscriber, after(200).never()).enqueue(rejected);
+    }
+
+    @Test
+    void staleRoutesShouldNotRecreateAnUnregisteredMailbox() {
+        Subscriber subscriber = mock(Subscriber.class);
+        when(subscriber.getName()).thenReturn("Sub");
+        Event stale = mock(Event.class);
+        Event fresh = mock(Event.class);
+
+        dispatcher.register(subscriber);
+        dispatcher.unregister(subscriber);
+        dispatcher.dispatch(subscriber, e -> true, stale);
+
+        verify(subscriber, after(200).never()).enqueue(any());
+        assertEquals(0, dispatcher.getPendingEventCount(subscriber));
+
+        dispatcher.register(subscriber);
+        dispatcher.dispatch(subscriber, e -> true, fresh);
+        verify(subscriber, timeout(2000)).enqueue(fresh);
+        verify(subscriber, never()).enqueue(stale);
+    }
+
+    @Test
+    void constructorShouldRejectInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncDispatcher(0));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncDispatcher(1, 0));
+    }
+}
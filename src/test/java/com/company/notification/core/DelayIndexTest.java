@@ -0,0 +1,137 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.TaskEvent;
+import com.company.notification.model.publisher.Publisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.notification.core.HistoryFixtures.event;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DelayIndexTest {
+
+    private TimingWheel wheel;
+    private DelayIndex index;
+    private Publisher publisher;
+    private final List<List<Event>> batches = new ArrayList<>();
+    private final List<Instant> releasedAt = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        wheel = new TimingWheel(Duration.ofMillis(5), 64, 1);
+        index = new DelayIndex((publishers, events) -> {
+            synchronized (batches) {
+                batches.add(List.copyOf(events));
+                releasedAt.add(Instant.now());
+            }
+        }, wheel, Duration.ofMillis(10), 4);
+        publisher = mock(Publisher.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+        wheel.shutdown();
+    }
+
+    private List<String> releasedNames() {
+        synchronized (batches) {
+            return batches.stream().flatMap(List::stream).map(e -> ((TaskEvent) e).getTaskName()).toList();
+        }
+    }
+
+    private void awaitReleased(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (index.getReleasedCount() < count && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    @Test
+    void eventsShouldBeReleasedInTimeOrderAndNotEarly() throws Exception {
+        Instant now = Instant.now();
+        Instant late = now.plusMillis(200);
+        index.add(publisher, event("Late"), late);
+        index.add(publisher, event("Early"), now.plusMillis(50));
+
+        awaitReleased(2);
+
+        assertEquals(List.of("Early", "Late"), releasedNames());
+        assertFalse(releasedAt.get(releasedAt.size() - 1).isBefore(late));
+        assertEquals(0, index.getPendingCount());
+    }
+
+    @Test
+    void dueEventsShouldBeReleasedInBoundedBatches() throws Exception {
+        Instant due = Instant.now().plusMillis(50);
+        for (int i = 0; i < 10; i++) {
+            index.add(publisher, event("E" + i), due);
+        }
+        assertEquals(10, index.getPendingCount());
+
+        awaitReleased(10);
+
+        synchronized (batches) {
+            assertEquals(List.of(4, 4, 2), batches.stream().map(List::size).toList());
+        }
+        assertEquals("E0", releasedNames().get(0));
+        assertEquals("E9", releasedNames().get(9));
+    }
+
+    @Test
+    void cancelledEventsShouldNotBeReleased() throws Exception {
+        Instant due = Instant.now().plusMillis(50);
+        DelayIndex.Pending cancelled = index.add(publisher, event("Cancelled"), due);
+        DelayIndex.Pending kept = index.add(publisher, event("Kept"), due);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertEquals(1, index.getPendingCount());
+
+        awaitReleased(1);
+        TimeUnit.MILLISECONDS.sleep(30);
+
+        assertEquals(List.of("Kept"), releasedNames());
+        assertTrue(kept.isReleased());
+        assertFalse(kept.cancel());
+        assertTrue(cancelled.isCancelled());
+    }
+
+    @Test
+    void cancelShouldDropSlotsOnceAllTheirHandlesAreCancelled() {
+        Instant later = Instant.now().plusSeconds(60);
+        DelayIndex.Pending first = index.add(publisher, event("First"), later);
+        DelayIndex.Pending second = index.add(publisher, event("Second"), later);
+        assertEquals(1, index.getSlotCount());
+
+        first.cancel();
+        assertEquals(1, index.getSlotCount());
+        second.cancel();
+
+        assertEquals(0, index.getSlotCount());
+        assertEquals(0, index.getPendingCount());
+    }
+
+    @Test
+    void addShouldRejectInvalidArgumentsAndClosedIndex() {
+        assertThrows(IllegalArgumentException.class, () -> index.add(null, event("E"), Instant.now()));
+        assertThrows(IllegalArgumentException.class, () -> index.add(publisher, event("E"), null));
+        assertThrows(IllegalArgumentException.class, () -> index.add(publisher, event("E"), Instant.MAX));
+
+        DelayIndex.Pending pending = index.add(publisher, event("E"), Instant.now().plusSeconds(60));
+        index.close();
+
+        assertTrue(pending.isCancelled());
+        assertEquals(0, index.getPendingCount());
+        assertThrows(IllegalStateException.class, () -> index.add(publisher, event("E"), Instant.now()));
+    }
+}
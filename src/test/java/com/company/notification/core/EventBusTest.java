@@ -1,13 +1,20 @@
 package com.company.notification.core;
 
 import com.company.notification.event.Event;
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.Priority;
+import com.company.notification.event.TaskEvent;
 import com.company.notification.filters.EventFilter;
+import com.company.notification.filters.FilterMask;
 import com.company.notification.model.publisher.Publisher;
 import com.company.notification.model.subscriber.AdminSubscriber;
 import com.company.notification.model.subscriber.Subscriber;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 
@@ -198,4 +205,179 @@ class EventBusTest {
 
 
 
+    @Test
+    void testRegisteredAdminReceivesEventsPassingItsFilter() {
+        eventBus.registerAdminSubscriber(mockAdmin, e -> true);
+        eventBus.publishFromPublisher(mockPublisher, mockEvent);
+
+        verify(mockAdmin, times(1)).enqueue(mockEvent);
+    }
+
+    @Test
+    void testSubscriptionAfterPublishIsPickedUpByNextPublish() {
+        Subscriber lateSubscriber = mock(Subscriber.class);
+        when(lateSubscriber.getName()).thenReturn("Late");
+
+        eventBus.subscribe(mockSubscriber, mockPublisher, e -> true);
+        eventBus.publishFromPublisher(mockPublisher, mockEvent);
+        eventBus.subscribe(lateSubscriber, mockPublisher, e -> true);
+        eventBus.publishFromPublisher(mockPublisher, mockEvent);
+
+        verify(mockSubscriber, times(2)).enqueue(mockEvent);
+        verify(lateSubscriber, times(1)).enqueue(mockEvent);
+    }
+
+    @Test
+    void testPublishBatchFiltersPerSubscriberAndLogsHistoryOnce() {
+        Event secondEvent = mock(Event.class);
+        List<Event> batch = List.of(mockEvent, secondEvent);
+
+        eventBus.subscribe(mockSubscriber, mockPublisher, e -> e == secondEvent);
+        eventBus.publishBatch(mockPublisher, batch);
+
+        verify(mockSubscriber, times(1)).enqueueAll(List.of(secondEvent));
+        verify(mockEventHistory, times(1)).logEvents(batch, mockPublisher);
+        verify(mockEventHistory, never()).logEvent(any(), any());
+    }
+
+    @Test
+    void testPublishBatchRejectsNullsAndIgnoresEmptyBatch() {
+        assertThrows(IllegalArgumentException.class, () -> eventBus.publishBatch(null, List.of(mockEvent)));
+        assertThrows(IllegalArgumentException.class, () -> eventBus.publishBatch(mockPublisher, null));
+        assertThrows(IllegalArgumentException.class, () -> eventBus.publishBatch(mockPublisher, Arrays.asList(mockEvent, null)));
+
+        eventBus.publishBatch(mockPublisher, List.of());
+        verifyNoInteractions(mockEventHistory);
+    }
+
+    @Test
+    void testStaticMaskFilterIsSkippedForEventsOutsideItsBuckets() {
+        EventFilter highOnly = mock(EventFilter.class);
+        when(highOnly.staticMask()).thenReturn(FilterMask.forPriority(Priority.HIGH));
+        when(highOnly.shouldProcess(any())).thenReturn(true);
+
+        Event lowEvent = mock(Event.class);
+        when(lowEvent.getType()).thenReturn(EventTypes.TASK);
+        when(lowEvent.getPriority()).thenReturn(Priority.LOW);
+        Event highEvent = mock(Event.class);
+        when(highEvent.getType()).thenReturn(EventTypes.PRIORITY);
+        when(highEvent.getPriority()).thenReturn(Priority.HIGH);
+
+        eventBus.subscribe(mockSubscriber, mockPublisher, highOnly);
+        eventBus.publishFromPublisher(mockPublisher, lowEvent);
+        eventBus.publishFromPublisher(mockPublisher, highEvent);
+
+        verify(highOnly, never()).shouldProcess(lowEvent);
+        verify(mockSubscriber, never()).enqueue(lowEvent);
+        verify(mockSubscriber, times(1)).enqueue(highEvent);
+    }
+
+    @Test
+    void testTopicSubscriberReceivesEventsFromMatchingPublishers() {
+        Publisher invoicePublisher = mock(Publisher.class);
+        when(invoicePublisher.getName()).thenReturn("EuInvoices");
+        when(invoicePublisher.getTopic()).thenReturn("billing.eu.invoice");
+        Publisher shippingPublisher = mock(Publisher.class);
+        when(shippingPublisher.getName()).thenReturn("Shipping");
+        when(shippingPublisher.getTopic()).thenReturn("shipping.eu");
+        eventBus.registerPublisher(invoicePublisher);
+
+        eventBus.subscribeTopic(mockSubscriber, "billing.#", e -> true);
+        eventBus.publishFromPublisher(invoicePublisher, mockEvent);
+        eventBus.publishFromPublisher(shippingPublisher, mockEvent);
+
+        verify(mockSubscriber, times(1)).enqueue(mockEvent);
+        assertTrue(eventBus.hasSubscribers(invoicePublisher));
+        assertFalse(eventBus.hasSubscribers(shippingPublisher));
+        assertEquals(Set.of("billing.#"), eventBus.getTopicSubscriptions(mockSubscriber));
+
+        eventBus.unsubscribeTopic(mockSubscriber, "billing.#");
+        eventBus.publishFromPublisher(invoicePublisher, mockEvent);
+        verify(mockSubscriber, times(1)).enqueue(mockEvent);
+        assertFalse(eventBus.hasSubscribers(invoicePublisher));
+    }
+
+    @Test
+    void testTopicAndDirectSubscriptionDeliverOnce() {
+        when(mockPublisher.getTopic()).thenReturn("hr.payroll");
+        eventBus.subscribe(mockSubscriber, mockPublisher, e -> true);
+        eventBus.subscribeTopic(mockSubscriber, "hr.*", e -> true);
+
+        eventBus.publishFromPublisher(mockPublisher, mockEvent);
+
+        verify(mockSubscriber, times(1)).enqueue(mockEvent);
+    }
+
+    @Test
+    void testPublishFromPublishersRoutesEachEventAndLogsOneBatch() {
+        Publisher otherPublisher = mock(Publisher.class);
+        when(otherPublisher.getId()).thenReturn("pub-456");
+        when(otherPublisher.getName()).thenReturn("OtherPublisher");
+        Subscriber otherSubscriber = mock(Subscriber.class);
+        Event event = new TaskEvent("Task", "desc", "pub-123", Priority.HIGH);
+        Event otherEvent = new TaskEvent("Other", "desc", "pub-456", Priority.HIGH);
+        eventBus.subscribe(mockSubscriber, mockPublisher, e -> true);
+        eventBus.subscribe(otherSubscriber, otherPublisher, e -> true);
+
+        eventBus.publishFromPublishers(List.of(mockPublisher, otherPublisher), List.of(event, otherEvent));
+
+        verify(mockSubscriber).enqueue(event);
+        verify(mockSubscriber, never()).enqueue(otherEvent);
+        verify(otherSubscriber).enqueue(otherEvent);
+        verify(mockEventHistory, times(1)).logRecords(argThat(records -> records.size() == 2
+                && records.get(1).getPublisherId().equals("pub-456")));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventBus.publishFromPublishers(List.of(mockPublisher), List.of()));
+    }
+
+    @Test
+    void testSubscriptionListenerSeesFirstAndLastSubscriber() {
+        SubscriptionListener listener = mock(SubscriptionListener.class);
+        Subscriber otherSubscriber = mock(Subscriber.class);
+        when(mockPublisher.getTopic()).thenReturn("billing.invoices");
+        eventBus.registerPublisher(mockPublisher);
+        eventBus.addSubscriptionListener(listener);
+
+        eventBus.subscribe(mockSubscriber, mockPublisher, e -> true);
+        eventBus.subscribeTopic(otherSubscriber, "billing.#", e -> true);
+        eventBus.unsubscribe(mockSubscriber, mockPublisher);
+        verify(listener, times(1)).onFirstSubscriber(mockPublisher);
+        verify(listener, never()).onLastSubscriberRemoved(any());
+
+        eventBus.unsubscribeTopic(otherSubscriber, "billing.#");
+        verify(listener, times(1)).onLastSubscriberRemoved(mockPublisher);
+
+        eventBus.removeSubscriptionListener(listener);
+        eventBus.subscribe(mockSubscriber, mockPublisher, e -> true);
+        verify(listener, times(1)).onFirstSubscriber(mockPublisher);
+    }
+
+    @Test
+    void testPublishAtDeliversOnlyWhenDueAndCanBeCancelled() {
+        Event due = new TaskEvent("Reminder", "desc", "pub-123", Priority.HIGH);
+        Event cancelled = new TaskEvent("Cancelled", "desc", "pub-123", Priority.HIGH);
+        eventBus.subscribe(mockSubscriber, mockPublisher, e -> true);
+
+        eventBus.publishAt(mockPublisher, due, Instant.now().plusMillis(100));
+        DelayIndex.Pending handle = eventBus.publishAt(mockPublisher, cancelled, Instant.now().plusMillis(100));
+        assertTrue(handle.cancel());
+        assertEquals(1, eventBus.getDelayedCount());
+        verify(mockSubscriber, never()).enqueue(due);
+
+        verify(mockSubscriber, timeout(2000)).enqueue(due);
+        verify(mockSubscriber, never()).enqueue(cancelled);
+        verify(mockEventHistory, timeout(2000)).logRecords(argThat(records -> records.size() == 1));
+        assertEquals(0, eventBus.getDelayedCount());
+        eventBus.shutdown();
+    }
+
+    @Test
+    void publishAtShouldBeRejectedAfterShutdown() {
+        Event event = new TaskEvent("Late", "desc", "pub-123", Priority.HIGH);
+        eventBus.shutdown();
+
+        assertThrows(IllegalStateException.class,
+                () -> eventBus.publishAt(mockPublisher, event, Instant.now().plusSeconds(1)));
+        assertEquals(0, eventBus.getDelayedCount());
+    }
 }
@@ -0,0 +1,212 @@
+package com.company.notification.core;
+
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.HeartBeatEvent;
+import com.company.notification.event.Priority;
+import com.company.notification.event.TaskEvent;
+import com.company.notification.model.publisher.Publisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.company.notification.core.HistoryFixtures.event;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EventHistoryTest {
+
+    private EventHistory history;
+    private Publisher publisher;
+
+    @BeforeEach
+    void setup() {
+        history = new EventHistory();
+        publisher = mock(Publisher.class);
+        when(publisher.getId()).thenReturn("pub-1");
+        when(publisher.getName()).thenReturn("Publisher");
+    }
+
+    @Test
+    void logEventShouldRejectNulls() {
+        assertThrows(IllegalArgumentException.class, () -> history.logEvent(null, publisher));
+        assertThrows(IllegalArgumentException.class, () -> history.logEvent(event("A"), null));
+    }
+
+    @Test
+    void readEventsShouldPageWithResumableSequences() {
+        for (int i = 0; i < 5; i++) {
+            history.logEvent(event("E" + i), publisher);
+        }
+
+        EventHistory.Page first = history.readEvents(EventHistory.FIRST_SEQUENCE, 2);
+        EventHistory.Page second = history.readEvents(first.nextSequence(), 2);
+        EventHistory.Page last = history.readEvents(second.nextSequence(), 2);
+
+        assertEquals(List.of("E0", "E1"), names(first.records()));
+        assertTrue(first.hasMore());
+        assertEquals(List.of("E2", "E3"), names(second.records()));
+        assertEquals(List.of("E4"), names(last.records()));
+        assertFalse(last.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> history.readEvents(0, 0));
+
+        history.logEvent(event("E5"), publisher);
+        assertEquals(List.of("E5"), names(history.readEvents(last.nextSequence(), 2).records()));
+    }
+
+    @Test
+    void streamAndScanShouldStopEarly() {
+        for (int i = 0; i < 3000; i++) {
+            history.logEvent(event("E" + i), publisher);
+        }
+
+        assertEquals(3000, history.streamEvents().count());
+        assertEquals(List.of("E0", "E1", "E2"), names(history.streamEvents().limit(3).toList()));
+
+        List<EventHistory.EventRecord> sink = new ArrayList<>();
+        long next = history.scanEvents(EventHistory.FIRST_SEQUENCE, record -> sink.size() < 10 && sink.add(record));
+        assertEquals(10, sink.size());
+        assertEquals("E10", ((TaskEvent) history.readEvents(next, 1).records().get(0).getEvent()).getTaskName());
+    }
+
+    private static List<String> names(List<EventHistory.EventRecord> records) {
+        return records.stream().map(record -> ((TaskEvent) record.getEvent()).getTaskName()).toList();
+    }
+
+    @Test
+    void getAllEventsShouldReturnRecordsInAppendOrder() {
+        history.logEvent(event("A"), publisher);
+        history.logEvents(List.of(event("B"), event("C")), publisher);
+
+        List<EventHistory.EventRecord> records = history.getAllEvents();
+
+        assertEquals(3, records.size());
+        assertEquals("A", ((TaskEvent) records.get(0).getEvent()).getTaskName());
+        assertEquals("C", ((TaskEvent) records.get(2).getEvent()).getTaskName());
+    }
+
+    @Test
+    void pruneBeforeShouldDropOnlyOlderRecords() throws Exception {
+        history.logEvent(event("Old"), publisher);
+        Thread.sleep(5);
+        Instant cutoff = Instant.now();
+        Thread.sleep(5);
+        history.logEvent(event("New"), publisher);
+
+        history.pruneBefore(cutoff);
+
+        List<EventHistory.EventRecord> records = history.getAllEvents();
+        assertEquals(1, records.size());
+        assertEquals("New", ((TaskEvent) records.get(0).getEvent()).getTaskName());
+    }
+
+    @Test
+    void timeRangeQueriesShouldUseRecordTimestamps() throws Exception {
+        history.logEvent(event("Before"), publisher);
+        Thread.sleep(5);
+        Instant start = Instant.now();
+        Thread.sleep(5);
+        history.logEvent(event("Inside"), publisher);
+        Thread.sleep(5);
+        Instant end = Instant.now();
+        Thread.sleep(5);
+        history.logEvent(event("After"), publisher);
+
+        List<EventHistory.EventRecord> between = history.getEventsBetween(start, end);
+        assertEquals(1, between.size());
+        assertEquals("Inside", ((TaskEvent) between.get(0).getEvent()).getTaskName());
+
+        assertEquals(2, history.getEventsAfter(start).size());
+        assertEquals(3, history.getEventsInLastHour().size());
+        assertTrue(history.getEventsBetween(end, start).isEmpty());
+    }
+
+    @Test
+    void typeAndPublisherQueriesShouldUseIndexes() {
+        Publisher other = mock(Publisher.class);
+        when(other.getId()).thenReturn("PUB-2");
+        when(other.getName()).thenReturn("Other");
+
+        history.logEvent(event("A"), publisher);
+        history.logEvents(List.of(new HeartBeatEvent("pub-2", Priority.LOW), event("B")), other);
+
+        assertEquals(2, history.getEventsByType(" task ").size());
+        assertEquals(1, history.getEventsByType("HEARTBEAT").size());
+        assertTrue(history.getEventsByType("UNKNOWN").isEmpty());
+        assertEquals(2, history.getEventsByPublisher("pub-2").size());
+        assertEquals(1, history.getEventsByPublisher("PUB-1").size());
+        assertTrue(history.getEventsByPublisher("pub-3").isEmpty());
+    }
+
+    @Test
+    void indexedQueriesShouldIntersectWithTimeRange() throws Exception {
+        history.logEvent(event("Old"), publisher);
+        Thread.sleep(5);
+        Instant start = Instant.now();
+        history.logEvent(event("New"), publisher);
+        Instant end = Instant.now();
+
+        List<EventHistory.EventRecord> tasks = history.getEventsByType(EventTypes.TASK, start, end);
+        assertEquals(1, tasks.size());
+        assertEquals("New", ((TaskEvent) tasks.get(0).getEvent()).getTaskName());
+        assertEquals(1, history.getEventsByPublisher("pub-1", start, end).size());
+
+        history.pruneBefore(start);
+        assertEquals(1, history.getEventsByType("TASK").size());
+        assertEquals(1, history.getEventsByPublisher("pub-1").size());
+    }
+
+    @Test
+    void publisherShouldBeIndexedAgainAfterAllItsRecordsArePruned() throws Exception {
+        history.logEvent(event("Old"), publisher);
+        Thread.sleep(5);
+        history.pruneBefore(Instant.now());
+        assertTrue(history.getEventsByPublisher("pub-1").isEmpty());
+
+        history.logEvent(event("New"), publisher);
+
+        assertEquals(1, history.getEventsByPublisher("pub-1").size());
+    }
+
+    @Test
+    void countsShouldFollowAppendsAndPrunes() throws Exception {
+        history.logEvent(new HeartBeatEvent("pub-1", Priority.LOW), publisher);
+        Thread.sleep(5);
+        Instant cutoff = Instant.now();
+        history.logEvents(List.of(event("A"), event("B")), publisher);
+
+        assertEquals(Map.of("TASK", 2L, "HEARTBEAT", 1L), history.countEventsByType());
+        assertEquals(Map.of(Priority.LOW, 1L, Priority.MEDIUM, 2L), history.countEventsByPriority());
+        assertEquals(Map.of("pub-1", 3L), history.countEventsByPublisher());
+        assertEquals(3, history.getEventCount());
+
+        history.pruneBefore(cutoff);
+
+        assertEquals(Map.of("TASK", 2L), history.countEventsByType());
+        assertEquals(Map.of(Priority.MEDIUM, 2L), history.countEventsByPriority());
+        assertEquals(Map.of("pub-1", 2L), history.countEventsByPublisher());
+        assertEquals(2, history.getEventCount());
+
+        history.pruneBefore(Instant.now().plusSeconds(1));
+
+        assertTrue(history.countEventsByPublisher().isEmpty());
+        history.logEvent(event("C"), publisher);
+        assertEquals(Map.of("pub-1", 1L), history.countEventsByPublisher());
+    }
+
+    @Test
+    void clearShouldRemoveEverything() {
+        history.logEvent(event("A"), publisher);
+        history.clear();
+
+        assertTrue(history.getAllEvents().isEmpty());
+        assertTrue(history.countEventsByType().isEmpty());
+        assertTrue(history.getEventsByType("TASK").isEmpty());
+        assertTrue(history.getEventsByPublisher("pub-1").isEmpty());
+        assertTrue(history.countEventsByPublisher().isEmpty());
+        assertEquals(0, history.getEventCount());
+    }
+}
@@ -3,12 +3,15 @@ package com.company.notification.core;
 import com.company.notification.model.publisher.Publisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+@SuppressWarnings("deprecation")
 class EventSchedulerTest {
 
     private EventBus mockEventBus;
@@ -40,13 +43,37 @@ class EventSchedulerTest {
     }
 
     @Test
-    void start_shouldShutdownWhenNoSubscribers() throws InterruptedException {
+    void start_shouldPauseWhenNoSubscribersAndResumeOnFirstSubscriber() throws InterruptedException {
         when(mockEventBus.hasSubscribers(mockPublisher)).thenReturn(false);
+        ArgumentCaptor<SubscriptionListener> listener = ArgumentCaptor.forClass(SubscriptionListener.class);
 
         scheduler.start();
-        TimeUnit.SECONDS.sleep(2); // Let it run once
+        verify(mockEventBus).addSubscriptionListener(listener.capture());
+        TimeUnit.MILLISECONDS.sleep(200);
 
-        assertTrue(scheduler.isShutdown(), "Scheduler should shut down if no subscribers");
+        assertFalse(scheduler.isShutdown(), "A paused scheduler stays registered");
+        assertTrue(scheduler.isPaused());
+        verify(mockEventBus, never()).publishFromPublisher(any(), any());
+
+        listener.getValue().onFirstSubscriber(mockPublisher);
+        assertFalse(scheduler.isPaused());
+        verify(mockEventBus, timeout(2000).atLeastOnce()).publishFromPublisher(eq(mockPublisher), any());
+
+        listener.getValue().onLastSubscriberRemoved(mockPublisher);
+        assertTrue(scheduler.isPaused());
+        scheduler.shutdown();
+        verify(mockEventBus).removeSubscriptionListener(listener.getValue());
+    }
+
+    @Test
+    void ticks_shouldNotPollForSubscribers() {
+        when(mockEventBus.hasSubscribers(mockPublisher)).thenReturn(true);
+
+        scheduler.start();
+
+        verify(mockEventBus, timeout(3000).atLeast(2)).publishFromPublisher(eq(mockPublisher), any());
+        verify(mockEventBus, times(1)).hasSubscribers(mockPublisher);
+        scheduler.shutdown();
     }
 
     @Test
@@ -86,4 +113,18 @@ class EventSchedulerTest {
         assertThrows(IllegalArgumentException.class, () -> new EventScheduler(mockEventBus, mockPublisher, 0));
         assertThrows(IllegalArgumentException.class, () -> new EventScheduler(mockEventBus, mockPublisher, -1));
     }
+
+    @Test
+    void durationInterval_shouldSupportSubSecondHeartbeats() {
+        when(mockEventBus.hasSubscribers(mockPublisher)).thenReturn(true);
+        EventScheduler fast = new EventScheduler(mockEventBus, mockPublisher, Duration.ofMillis(100));
+
+        fast.start();
+
+        verify(mockEventBus, timeout(1000).atLeast(4)).publishFromPublisher(eq(mockPublisher), any());
+        fast.shutdown();
+        assertTrue(fast.getLateness().getCount() >= 4);
+        assertThrows(IllegalArgumentException.class,
+                () -> new EventScheduler(mockEventBus, mockPublisher, Duration.ZERO));
+    }
 }
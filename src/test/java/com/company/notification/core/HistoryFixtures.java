@@ -0,0 +1,22 @@
+package com.company.notification.core;
+
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.Priority;
+import com.company.notification.event.TaskEvent;
+
+import java.time.Instant;
+
+// Events and records shared by the history, writer and delay index tests
+final class HistoryFixtures {
+
+    private HistoryFixtures() {
+    }
+
+    static TaskEvent event(String name) {
+        return new TaskEvent(name, "desc", "pub-1", Priority.MEDIUM);
+    }
+
+    static EventRecord record(String name, String publisherId, Instant timestamp) {
+        return new EventRecord(new TaskEvent(name, "desc", publisherId, Priority.HIGH), publisherId, "Publisher", timestamp);
+    }
+}
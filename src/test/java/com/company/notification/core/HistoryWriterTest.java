@@ -0,0 +1,170 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.TaskEvent;
+import com.company.notification.model.publisher.Publisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.notification.core.HistoryFixtures.event;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HistoryWriterTest {
+
+    private InMemoryHistoryStore store;
+    private EventHistory history;
+    private Publisher publisher;
+    private HistoryWriter writer;
+
+    @BeforeEach
+    void setup() {
+        store = spy(new InMemoryHistoryStore());
+        history = new EventHistory(store);
+        publisher = mock(Publisher.class);
+        when(publisher.getId()).thenReturn("pub-1");
+        when(publisher.getName()).thenReturn("Publisher");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    void constructorShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HistoryWriter(null));
+        assertThrows(IllegalArgumentException.class, () -> new HistoryWriter(history, 0, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> new HistoryWriter(history, 1, 0, false));
+    }
+
+    @Test
+    void submittedRecordsShouldBeWrittenInOrderAndGroupCommitted() throws Exception {
+        // Hold the writer inside its first batch so the rest pile up in the queue
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(store).appendAll(anyList());
+        writer = new HistoryWriter(history, 1024, 64, false);
+
+        for (int i = 0; i < 200; i++) {
+            writer.submit(event("E" + i), publisher);
+        }
+        assertTrue(writer.getPendingCount() > 0);
+        release.countDown();
+
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        assertEquals(200, history.getEventCount());
+        assertEquals(0, writer.getPendingCount());
+        assertEquals(Duration.ZERO, writer.getLag());
+        assertTrue(writer.getBatchCount() < 10, "expected batched commits, got " + writer.getBatchCount());
+        List<String> names = history.streamEvents().map(r -> ((TaskEvent) r.getEvent()).getTaskName()).toList();
+        assertEquals("E0", names.get(0));
+        assertEquals("E199", names.get(199));
+    }
+
+    @Test
+    void syncEachBatchShouldFlushTheStore() throws Exception {
+        writer = new HistoryWriter(history, 16, 16, true);
+
+        writer.submitAll(List.of(event("A"), event("B")), publisher);
+
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        verify(store, atLeastOnce()).flush();
+    }
+
+    @Test
+    void submitAllShouldRejectMismatchedLists() {
+        writer = new HistoryWriter(history);
+
+        assertThrows(IllegalArgumentException.class, () -> writer.submitAll(List.of(publisher), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> writer.submitAll((List<Publisher>) null, List.of()));
+    }
+
+    @Test
+    void failedBatchesShouldBeCountedAndNotStopTheWriter() throws Exception {
+        doThrow(new IllegalStateException("disk full")).doCallRealMethod().when(store).appendAll(anyList());
+        writer = new HistoryWriter(history, 16, 16, false);
+
+        writer.submit(event("Lost"), publisher);
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        writer.submit(event("Kept"), publisher);
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+
+        assertEquals(1, writer.getFailedCount());
+        assertEquals(1, writer.getWrittenCount());
+        assertEquals(1, history.getEventCount());
+    }
+
+    @Test
+    void errorsShouldFailTheBatchAndNotStopTheWriter() throws Exception {
+        doThrow(new OutOfMemoryError("simulated")).doCallRealMethod().when(store).appendAll(anyList());
+        writer = new HistoryWriter(history, 16, 16, false);
+
+        writer.submit(event("Lost"), publisher);
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        writer.submit(event("Kept"), publisher);
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+
+        assertEquals(1, writer.getFailedCount());
+        assertEquals(1, history.getEventCount());
+    }
+
+    @Test
+    void recordsShouldBeWrittenSynchronouslyOnceTheWriterThreadDies() throws Exception {
+        Set<Thread> before = Thread.getAllStackTraces().keySet();
+        writer = new HistoryWriter(history, 16, 16, false);
+        Thread writerThread = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("HistoryWriter") && !before.contains(thread))
+                .findFirst().orElseThrow();
+
+        writerThread.interrupt();
+        writerThread.join(5000);
+        writer.submit(event("After"), publisher);
+
+        assertFalse(writerThread.isAlive());
+        assertEquals(1, history.getEventCount());
+        assertEquals(1, writer.getWrittenCount());
+    }
+
+    @Test
+    void closeShouldDrainQueueAndRejectNewRecords() {
+        writer = new HistoryWriter(history);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(event("E" + i));
+        }
+        writer.submitAll(events, publisher);
+
+        writer.close();
+
+        assertEquals(100, history.getEventCount());
+        assertThrows(IllegalStateException.class, () -> writer.submit(event("Late"), publisher));
+    }
+
+    @Test
+    void eventBusShouldHandHistoryToTheWriter() throws Exception {
+        writer = new HistoryWriter(history);
+        EventBus bus = new EventBus(history, EventDispatcher.synchronous(), writer);
+
+        bus.publishFromPublisher(publisher, event("Single"));
+        bus.publishBatch(publisher, List.of(event("B1"), event("B2")));
+        bus.publishFromPublishers(List.of(publisher, publisher), List.of(event("M1"), event("M2")));
+
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        assertEquals(5, history.getEventCount());
+        bus.shutdown();
+        assertThrows(IllegalStateException.class, () -> writer.submit(event("Late"), publisher));
+    }
+}
@@ -0,0 +1,45 @@
+package com.company.notification.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatenessHistogramTest {
+
+    @Test
+    void emptyHistogramShouldReportZero() {
+        LatenessHistogram histogram = new LatenessHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(Duration.ZERO, histogram.getPercentile(99));
+        assertEquals(Duration.ZERO, histogram.getMax());
+    }
+
+    @Test
+    void percentilesShouldBeWithinAFactorOfTwo() {
+        LatenessHistogram histogram = new LatenessHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(Duration.ofMillis(1).toNanos());
+        }
+        histogram.record(Duration.ofMillis(40).toNanos());
+
+        assertEquals(100, histogram.getCount());
+        Duration p50 = histogram.getPercentile(50);
+        assertTrue(p50.compareTo(Duration.ofMillis(1)) >= 0 && p50.compareTo(Duration.ofMillis(2)) <= 0, p50.toString());
+        assertEquals(Duration.ofMillis(40), histogram.getPercentile(100));
+        assertEquals(Duration.ofMillis(40), histogram.getMax());
+    }
+
+    @Test
+    void earlyRunsShouldCountAsOnTime() {
+        LatenessHistogram histogram = new LatenessHistogram();
+
+        histogram.record(-5000);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(Duration.ZERO, histogram.getMax());
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+}
@@ -0,0 +1,150 @@
+package com.company.notification.core;
+
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.HeartBeatEvent;
+import com.company.notification.event.Priority;
+import com.company.notification.event.PriorityEvent;
+import com.company.notification.event.TaskEvent;
+import com.company.notification.model.publisher.Publisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.company.notification.core.HistoryFixtures.record;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MappedHistoryStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsShouldRoundTripAcrossReopen() throws Exception {
+        Instant now = Instant.now();
+        List<EventRecord> written = List.of(
+                record("Task", "pub-1", now),
+                new EventRecord(new PriorityEvent("Alert", Priority.LOW, "Disk", "pub-2"), "pub-2", "Other", now.plusMillis(1)),
+                new EventRecord(new HeartBeatEvent("pub-1", Priority.MEDIUM), "pub-1", "Publisher", now.plusMillis(2)));
+
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 4096)) {
+            store.appendAll(written);
+        }
+
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 4096)) {
+            List<EventRecord> read = new ArrayList<>();
+            store.forEach(read::add);
+            assertEquals(written, read);
+        }
+    }
+
+    @Test
+    void queriesShouldFilterOnTimeTypeAndPublisher() throws Exception {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 4096)) {
+            for (int i = 0; i < 10; i++) {
+                store.append(record("T" + i, i % 2 == 0 ? "pub-A" : "pub-B", base.plusSeconds(i)));
+            }
+            store.append(new EventRecord(new HeartBeatEvent("pub-A", Priority.LOW), "pub-A", "Publisher", base.plusSeconds(10)));
+
+            assertEquals(3, store.range(base.plusSeconds(2), base.plusSeconds(4)).size());
+            assertEquals(1, store.rangeByType(EventTypes.HEARTBEAT, Instant.MIN, Instant.MAX).size());
+            assertEquals(6, store.rangeByPublisher("PUB-a", Instant.MIN, Instant.MAX).size());
+            assertEquals(2, store.rangeByPublisher("pub-b", base, base.plusSeconds(3)).size());
+        }
+    }
+
+    @Test
+    void appendsShouldRollIntoNewSegments() throws Exception {
+        Instant base = Instant.now();
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 512)) {
+            for (int i = 0; i < 50; i++) {
+                store.append(record("Task " + i, "pub-1", base.plusMillis(i)));
+            }
+            assertTrue(store.getSegmentCount() > 1);
+            assertEquals(50, store.range(Instant.MIN, Instant.MAX).size());
+        }
+    }
+
+    @Test
+    void pruneShouldDeleteOldSegmentsAndSurviveReopen() throws Exception {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        List<EventRecord> dropped = new ArrayList<>();
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 512)) {
+            for (int i = 0; i < 40; i++) {
+                store.append(record("Task " + i, "pub-1", base.plusSeconds(i)));
+            }
+            int before = store.getSegmentCount();
+            store.pruneBefore(base.plusSeconds(25), dropped::add);
+            assertTrue(store.getSegmentCount() < before);
+            assertEquals(15, store.range(Instant.MIN, Instant.MAX).size());
+        }
+        assertEquals(25, dropped.size());
+
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 512)) {
+            List<EventRecord> read = store.range(Instant.MIN, Instant.MAX);
+            assertEquals(15, read.size());
+            assertEquals(base.plusSeconds(25), read.get(0).getTimestamp());
+        }
+    }
+
+    @Test
+    void recordTooLargeForSegmentShouldBeRejected() throws Exception {
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 24)) {
+            assertThrows(IllegalArgumentException.class, () -> store.append(record("Task", "pub-1", Instant.now())));
+        }
+    }
+
+    @Test
+    void eventHistoryShouldRebuildCountsFromJournal() throws Exception {
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.getId()).thenReturn("pub-1");
+        when(publisher.getName()).thenReturn("Publisher");
+
+        try (EventHistory history = new EventHistory(MappedHistoryStore.open(dir))) {
+            history.logEvent(new TaskEvent("A", "desc", "pub-1", Priority.HIGH), publisher);
+            history.logEvent(new HeartBeatEvent("pub-1", Priority.LOW), publisher);
+        }
+
+        try (EventHistory history = new EventHistory(MappedHistoryStore.open(dir))) {
+            assertEquals(2, history.getEventCount());
+            assertEquals(1, history.getEventsByType("HEARTBEAT").size());
+            history.clear();
+            assertTrue(history.getAllEvents().isEmpty());
+        }
+    }
+
+    @Test
+    void scanSequencesShouldSurviveRollsAndReopen() throws Exception {
+        Instant base = Instant.now();
+        List<EventRecord> seen = new ArrayList<>();
+        long next;
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 512)) {
+            for (int i = 0; i < 30; i++) {
+                store.append(record("Task " + i, "pub-1", base.plusMillis(i)));
+            }
+            next = store.scan(0, record -> seen.size() < 20 && seen.add(record));
+        }
+        try (MappedHistoryStore store = MappedHistoryStore.open(dir, 512)) {
+            store.append(record("Task 30", "pub-1", base.plusMillis(30)));
+            store.scan(next, seen::add);
+        }
+
+        assertEquals(31, seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals("Task " + i, ((TaskEvent) seen.get(i).getEvent()).getTaskName());
+        }
+    }
+
+    @Test
+    void closedStoreShouldRejectCalls() throws Exception {
+        MappedHistoryStore store = MappedHistoryStore.open(dir);
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.append(record("Task", "pub-1", Instant.now())));
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.notification.core;
+
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.HeartBeatEvent;
+import com.company.notification.event.Priority;
+import com.company.notification.event.TaskEvent;
+import com.company.notification.model.publisher.Publisher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.company.notification.core.HistoryFixtures.record;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RingBufferHistoryStoreTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void constructorShouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferHistoryStore(0));
+    }
+
+    @Test
+    void fullStoreShouldOverwriteOldestAndReportEvictions() {
+        RingBufferHistoryStore store = new RingBufferHistoryStore(3);
+        List<EventRecord> evicted = new ArrayList<>();
+        store.setEvictionListener(evicted::add);
+
+        List<EventRecord> written = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            written.add(record("T" + i, "pub-1", BASE.plusSeconds(i)));
+        }
+        store.appendAll(written.subList(0, 2));
+        written.subList(2, 5).forEach(store::append);
+
+        assertEquals(3, store.size());
+        assertEquals(written.subList(0, 2), evicted);
+        assertEquals(written.subList(2, 5), store.range(Instant.MIN, Instant.MAX));
+    }
+
+    @Test
+    void queriesShouldCoverRetainedWindowAcrossWrapAround() {
+        RingBufferHistoryStore store = new RingBufferHistoryStore(8);
+        for (int i = 0; i < 20; i++) {
+            store.append(record("T" + i, i % 2 == 0 ? "pub-A" : "pub-B", BASE.plusSeconds(i)));
+        }
+        store.append(new EventRecord(new HeartBeatEvent("pub-A", Priority.LOW), "pub-A", "Publisher", BASE.plusSeconds(20)));
+
+        // Retained: T13..T19 and the heartbeat
+        assertEquals(8, store.range(Instant.MIN, Instant.MAX).size());
+        assertEquals(3, store.range(BASE.plusSeconds(14), BASE.plusSeconds(16)).size());
+        assertTrue(store.range(BASE, BASE.plusSeconds(12)).isEmpty());
+        assertEquals(1, store.rangeByType(EventTypes.HEARTBEAT, Instant.MIN, Instant.MAX).size());
+        assertEquals(4, store.rangeByPublisher("PUB-a", Instant.MIN, Instant.MAX).size());
+        assertEquals(2, store.rangeByPublisher("pub-b", BASE.plusSeconds(13), BASE.plusSeconds(16)).size());
+    }
+
+    @Test
+    void rangeShouldFindRecordsAppendedSlightlyOutOfOrder() {
+        RingBufferHistoryStore store = new RingBufferHistoryStore(4);
+        store.append(record("A", "pub-1", BASE.plusSeconds(1)));
+        store.append(record("B", "pub-1", BASE.plusSeconds(5)));
+        store.append(record("C", "pub-1", BASE.plusSeconds(3)));
+        store.append(record("D", "pub-1", BASE.plusSeconds(6)));
+
+        List<EventRecord> found = store.range(BASE.plusSeconds(2), BASE.plusSeconds(4));
+
+        assertEquals(1, found.size());
+        assertEquals("C", ((TaskEvent) found.get(0).getEvent()).getTaskName());
+    }
+
+    @Test
+    void scanShouldSkipOverwrittenRecords() {
+        RingBufferHistoryStore store = new RingBufferHistoryStore(3);
+        store.append(record("T0", "pub-1", BASE));
+        long next = store.scan(0, record -> true);
+        for (int i = 1; i < 6; i++) {
+            store.append(record("T" + i, "pub-1", BASE.plusSeconds(i)));
+        }
+        List<EventRecord> seen = new ArrayList<>();
+
+        assertEquals(6, store.scan(next, seen::add));
+        assertEquals(3, seen.size());
+        assertEquals("T3", ((TaskEvent) seen.get(0).getEvent()).getTaskName());
+    }
+
+    @Test
+    void pruneAndClearShouldEmptyTheWindow() {
+        RingBufferHistoryStore store = new RingBufferHistoryStore(4);
+        for (int i = 0; i < 6; i++) {
+            store.append(record("T" + i, "pub-1", BASE.plusSeconds(i)));
+        }
+        List<EventRecord> dropped = new ArrayList<>();
+
+        store.pruneBefore(BASE.plusSeconds(4), dropped::add);
+
+        assertEquals(2, dropped.size());
+        assertEquals(2, store.size());
+
+        store.clear();
+        assertEquals(0, store.size());
+        store.append(record("Fresh", "pub-1", BASE));
+        assertEquals(1, store.range(Instant.MIN, Instant.MAX).size());
+    }
+
+    @Test
+    void eventHistoryCountsShouldFollowTheRetainedWindow() {
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.getId()).thenReturn("pub-1");
+        when(publisher.getName()).thenReturn("Publisher");
+        EventHistory history = new EventHistory(new RingBufferHistoryStore(5));
+
+        for (int i = 0; i < 12; i++) {
+            history.logEvent(new TaskEvent("T" + i, "desc", "pub-1", Priority.HIGH), publisher);
+        }
+        history.logEvents(List.of(new HeartBeatEvent("pub-1", Priority.LOW)), publisher);
+
+        assertEquals(5, history.getEventCount());
+        assertEquals(5, history.getAllEvents().size());
+        assertEquals(4L, history.countEventsByType().get("TASK"));
+        assertEquals(1L, history.countEventsByType().get("HEARTBEAT"));
+        assertEquals(5L, history.countEventsByPublisher().get("pub-1"));
+    }
+}
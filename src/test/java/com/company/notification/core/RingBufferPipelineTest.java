@@ -0,0 +1,172 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.model.publisher.Publisher;
+import com.company.notification.model.subscriber.Subscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RingBufferPipelineTest {
+
+    private EventHistory mockEventHistory;
+    private EventBus eventBus;
+    private Publisher mockPublisher;
+    private List<Event> received;
+    private RingBufferPipeline pipeline;
+
+    @BeforeEach
+    void setup() {
+        mockEventHistory = mock(EventHistory.class);
+        eventBus = new EventBus(mockEventHistory);
+        mockPublisher = mock(Publisher.class);
+        when(mockPublisher.getName()).thenReturn("RingPublisher");
+
+        received = new CopyOnWriteArrayList<>();
+        Subscriber subscriber = mock(Subscriber.class);
+        when(subscriber.getName()).thenReturn("RingSubscriber");
+        doAnswer(inv -> received.add(inv.getArgument(0))).when(subscriber).enqueue(any());
+        eventBus.subscribe(subscriber, mockPublisher, e -> true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void singleProducerShouldDeliverEveryEventInOrderAndLogHistory() {
+        pipeline = new RingBufferPipeline(eventBus, 8, RingBufferPipeline.ProducerType.SINGLE);
+        pipeline.start();
+
+        List<Event> published = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Event event = mock(Event.class);
+            published.add(event);
+            pipeline.publish(mockPublisher, event);
+        }
+        pipeline.shutdown();
+
+        assertEquals(published, received);
+        verify(mockEventHistory, times(100)).logEvent(any(), eq(mockPublisher));
+        assertEquals(99, pipeline.getStageSequence("History"));
+    }
+
+    @Test
+    void multipleProducersShouldNotLoseEvents() throws InterruptedException {
+        pipeline = new RingBufferPipeline(eventBus, 16);
+        pipeline.start();
+        Event event = mock(Event.class);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    pipeline.publish(mockPublisher, event);
+                }
+            });
+            producers.add(t);
+            t.start();
+        }
+        for (Thread t : producers) {
+            t.join();
+        }
+        pipeline.shutdown();
+
+        assertEquals(2000, received.size());
+        assertEquals(Collections.nCopies(2000, event), received);
+        verify(mockEventHistory, times(2000)).logEvent(event, mockPublisher);
+    }
+
+    @Test
+    void attachedPipelineShouldCarryBusPublishesAndDrainOnShutdown() throws InterruptedException {
+        pipeline = new RingBufferPipeline(eventBus, 8);
+        pipeline.start();
+        eventBus.setPipeline(pipeline);
+        // Let the stages go idle and park before publishing
+        Thread.sleep(50);
+
+        List<Event> published = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Event event = mock(Event.class);
+            published.add(event);
+            eventBus.publishFromPublisher(mockPublisher, event);
+        }
+        eventBus.shutdown();
+
+        assertEquals(published, received);
+        assertFalse(pipeline.isAccepting());
+        Event late = mock(Event.class);
+        eventBus.publishFromPublisher(mockPublisher, late);
+        assertEquals(late, received.get(received.size() - 1));
+    }
+
+    @Test
+    void batchesShouldKeepOrderWithSinglePublishesWhilePipelineIsAttached() {
+        pipeline = new RingBufferPipeline(eventBus, 4);
+        pipeline.start();
+        eventBus.setPipeline(pipeline);
+
+        List<Event> published = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            published.add(mock(Event.class));
+        }
+        eventBus.publishFromPublisher(mockPublisher, published.get(0));
+        eventBus.publishBatch(mockPublisher, published.subList(1, 5));
+        eventBus.publishFromPublisher(mockPublisher, published.get(5));
+        eventBus.publishFromPublishers(Collections.nCopies(4, mockPublisher), published.subList(6, 10));
+        eventBus.shutdown();
+
+        assertEquals(published, received);
+    }
+
+    @Test
+    void publishesRacingShutdownShouldNotBeLost() throws InterruptedException {
+        pipeline = new RingBufferPipeline(eventBus, 4);
+        pipeline.start();
+        eventBus.setPipeline(pipeline);
+        int threads = 4;
+        int perThread = 500;
+        Event event = mock(Event.class);
+
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread publisher = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    eventBus.publishFromPublisher(mockPublisher, event);
+                }
+            });
+            publishers.add(publisher);
+            publisher.start();
+        }
+        pipeline.shutdown();
+        for (Thread publisher : publishers) {
+            publisher.join(5000);
+        }
+
+        assertEquals(threads * perThread, received.size());
+    }
+
+    @Test
+    void publishShouldFailWhenNotStarted() {
+        pipeline = new RingBufferPipeline(eventBus, 8);
+        assertThrows(IllegalStateException.class, () -> pipeline.publish(mockPublisher, mock(Event.class)));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.publish(null, mock(Event.class)));
+    }
+
+    @Test
+    void constructorShouldRequirePowerOfTwoBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferPipeline(eventBus, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferPipeline(null, 8));
+    }
+}
@@ -1,10 +1,14 @@
 package com.company.notification.core;
 
 import com.company.notification.model.publisher.Publisher;
+import com.company.notification.model.subscriber.Subscriber;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -59,5 +63,97 @@ public class SchedulerManagerTest {
         schedulerManager.shutdownAllSchedulers();
 
         assertFalse(schedulerManager.hasScheduler(mockPublisher));
+        verify(eventBus).removeSubscriptionListener(schedulerManager);
+    }
+
+    @Test
+    void testSameIntervalSchedulesShareOneGroup() {
+        when(eventBus.hasSubscribers(any())).thenReturn(true);
+        Publisher second = mock(Publisher.class);
+        when(second.getId()).thenReturn("publisher-2");
+
+        schedulerManager.registerScheduler(mockPublisher, 1);
+        schedulerManager.registerScheduler(second, 1);
+        assertEquals(1, schedulerManager.getGroupCount());
+
+        // Every member's heartbeat goes out in one batched publish
+        verify(eventBus, timeout(3000).atLeastOnce()).publishFromPublishers(
+                argThat(publishers -> publishers.size() == 2), argThat(events -> events.size() == 2));
+        verify(eventBus, never()).publishFromPublisher(any(), any());
+
+        schedulerManager.shutdownScheduler(mockPublisher);
+        assertEquals(1, schedulerManager.getGroupCount());
+        schedulerManager.shutdownScheduler(second);
+        assertEquals(0, schedulerManager.getGroupCount());
+    }
+
+    @Test
+    void testSchedulePausesAndResumesWithSubscriptionChanges() throws Exception {
+        when(eventBus.hasSubscribers(mockPublisher)).thenReturn(false);
+
+        schedulerManager.registerScheduler(mockPublisher, 1);
+        assertTrue(schedulerManager.hasScheduler(mockPublisher));
+        assertTrue(schedulerManager.isPaused(mockPublisher));
+        assertEquals(0, schedulerManager.getGroupCount());
+
+        schedulerManager.onFirstSubscriber(mockPublisher);
+        assertFalse(schedulerManager.isPaused(mockPublisher));
+        verify(eventBus, timeout(3000).atLeastOnce()).publishFromPublishers(eq(List.of(mockPublisher)), anyList());
+
+        schedulerManager.onLastSubscriberRemoved(mockPublisher);
+        assertTrue(schedulerManager.isPaused(mockPublisher));
+        assertTrue(schedulerManager.hasScheduler(mockPublisher));
+        assertEquals(0, schedulerManager.getGroupCount());
+        // Ticks never poll: the only lookup was the one at registration
+        verify(eventBus, times(1)).hasSubscribers(mockPublisher);
+    }
+
+    @Test
+    void testRealBusSubscriptionsDriveTheSchedule() {
+        EventBus bus = new EventBus(mock(EventHistory.class));
+        SchedulerManager manager = new SchedulerManager(bus);
+        Subscriber subscriber = mock(Subscriber.class);
+        when(subscriber.getName()).thenReturn("Subscriber");
+
+        manager.registerScheduler(mockPublisher, 1);
+        assertTrue(manager.isPaused(mockPublisher));
+
+        bus.subscribe(subscriber, mockPublisher, e -> true);
+        assertFalse(manager.isPaused(mockPublisher));
+        verify(subscriber, timeout(3000).atLeastOnce()).enqueue(any());
+
+        bus.unsubscribe(subscriber, mockPublisher);
+        assertTrue(manager.isPaused(mockPublisher));
+        manager.shutdownAllSchedulers();
+    }
+
+    @Test
+    void testRegisterRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> schedulerManager.registerScheduler(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> schedulerManager.registerScheduler(mockPublisher, 0));
+    }
+
+    @Test
+    void testMillisecondIntervalsGroupByPolicyAndReportLateness() {
+        when(eventBus.hasSubscribers(any())).thenReturn(true);
+        Publisher second = mock(Publisher.class);
+        when(second.getId()).thenReturn("publisher-2");
+
+        schedulerManager.registerScheduler(mockPublisher, Duration.ofMillis(200), TimingWheel.CatchUpPolicy.SKIP);
+        schedulerManager.registerScheduler(second, Duration.ofMillis(200), TimingWheel.CatchUpPolicy.COALESCE);
+        assertEquals(2, schedulerManager.getGroupCount());
+
+        verify(eventBus, timeout(1500).atLeast(4)).publishFromPublishers(eq(List.of(mockPublisher)), anyList());
+        LatenessHistogram lateness = schedulerManager.getLateness(mockPublisher).orElseThrow();
+        assertTrue(lateness.getCount() >= 3);
+        assertNotSame(lateness, schedulerManager.getLateness(second).orElseThrow());
+
+        schedulerManager.onLastSubscriberRemoved(mockPublisher);
+        assertTrue(schedulerManager.isPaused(mockPublisher));
+        assertSame(lateness, schedulerManager.getLateness(mockPublisher).orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> schedulerManager.registerScheduler(
+                mock(Publisher.class), Duration.ofNanos(10), TimingWheel.CatchUpPolicy.SKIP));
+        schedulerManager.shutdownAllSchedulers();
+        assertTrue(schedulerManager.getLateness(mockPublisher).isEmpty());
     }
 }
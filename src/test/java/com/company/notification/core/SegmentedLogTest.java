@@ -0,0 +1,214 @@
+package com.company.notification.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedLogTest {
+
+    @Test
+    void constructorShouldRejectNonPositiveSegmentSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedLog<Integer>(0));
+    }
+
+    @Test
+    void appendShouldKeepOrderAcrossSegments() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4);
+        for (int i = 0; i < 10; i++) {
+            log.append(i);
+        }
+
+        assertEquals(10, log.size());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), log.toList());
+    }
+
+    @Test
+    void appendAllShouldSplitBatchesOverSegments() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4);
+        log.append(-1);
+        log.appendAll(List.of(0, 1, 2, 3, 4, 5));
+        log.appendAll(List.of());
+
+        assertEquals(List.of(-1, 0, 1, 2, 3, 4, 5), log.toList());
+    }
+
+    @Test
+    void dropWhileShouldUnlinkExpiredSegmentsAndTrimBoundary() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4);
+        for (int i = 0; i < 10; i++) {
+            log.append(i);
+        }
+
+        log.dropWhile(value -> value < 6);
+        assertEquals(List.of(6, 7, 8, 9), log.toList());
+        assertEquals(4, log.size());
+
+        log.dropWhile(value -> value < 100);
+        assertTrue(log.isEmpty());
+
+        log.append(10);
+        assertEquals(List.of(10), log.toList());
+    }
+
+    @Test
+    void rangeShouldRequireOrderKey() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4);
+        assertThrows(IllegalStateException.class, () -> log.range(0, 1));
+    }
+
+    @Test
+    void rangeShouldReturnRecordsWithinKeysAcrossSealedAndOpenSegments() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4, Integer::longValue);
+        for (int i = 0; i < 14; i++) {
+            log.append(i * 10);
+        }
+
+        assertEquals(List.of(30, 40, 50, 60, 70), log.range(25, 70));
+        assertEquals(List.of(120, 130), log.range(115, Long.MAX_VALUE));
+        assertEquals(List.of(0, 10), log.range(Long.MIN_VALUE, 10));
+        assertTrue(log.range(200, 300).isEmpty());
+        assertTrue(log.range(70, 25).isEmpty());
+    }
+
+    @Test
+    void rangeShouldFindOutOfOrderRecords() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4, Integer::longValue);
+        log.appendAll(List.of(1, 3, 2, 4, 5, 7, 6, 8, 9));
+
+        assertEquals(List.of(3, 2, 4, 5, 7, 6), log.range(2, 7));
+    }
+
+    @Test
+    void rangeShouldLookPastSealedSegmentsAboveTheRange() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4, Integer::longValue);
+        log.appendAll(List.of(0, 1, 2, 3, 20, 21, 22, 23, 4, 24, 25, 26));
+
+        assertEquals(List.of(2, 3, 4), log.range(2, 10));
+    }
+
+    @Test
+    void rangeShouldRespectDroppedRecords() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4, Integer::longValue);
+        for (int i = 0; i < 10; i++) {
+            log.append(i);
+        }
+        log.dropWhile(value -> value < 5);
+
+        assertEquals(List.of(5, 6, 7), log.range(0, 7));
+    }
+
+    @Test
+    void clearShouldEmptyTheLog() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(2);
+        log.appendAll(List.of(1, 2, 3));
+        log.clear();
+
+        assertTrue(log.isEmpty());
+        assertFalse(log.iterator().hasNext());
+    }
+
+    @Test
+    void scanShouldResumeFromReturnedOffsetAcrossDropAndClear() {
+        SegmentedLog<Integer> log = new SegmentedLog<>(4);
+        for (int i = 0; i < 10; i++) {
+            log.append(i);
+        }
+        List<Integer> seen = new ArrayList<>();
+
+        long next = log.scan(0, value -> value < 6 && seen.add(value));
+        assertEquals(6, next);
+        log.dropWhile(value -> value < 8);
+        next = log.scan(next, seen::add);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 8, 9), seen);
+        assertEquals(10, next);
+
+        log.clear();
+        log.append(42);
+        assertEquals(List.of(42), scanAll(log, next));
+    }
+
+    private static List<Integer> scanAll(SegmentedLog<Integer> log, long from) {
+        List<Integer> values = new ArrayList<>();
+        log.scan(from, values::add);
+        return values;
+    }
+
+    @Test
+    void concurrentAppendsShouldAllBeVisible() throws Exception {
+        int writers = 4;
+        int perWriter = 5_000;
+        SegmentedLog<Integer> log = new SegmentedLog<>(64);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int w = 0; w < writers; w++) {
+            int base = w * perWriter;
+            boolean batched = w % 2 == 0;
+            pool.submit(() -> {
+                start.await();
+                if (batched) {
+                    List<Integer> batch = new ArrayList<>();
+                    for (int i = 0; i < perWriter; i++) {
+                        batch.add(base + i);
+                        if (batch.size() == 50) {
+                            log.appendAll(batch);
+                            batch.clear();
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < perWriter; i++) {
+                        log.append(base + i);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        Set<Integer> values = new HashSet<>(log.toList());
+        assertEquals(writers * perWriter, log.size());
+        assertEquals(writers * perWriter, values.size());
+    }
+
+    @Test
+    void concurrentDropsShouldHandEachRecordToOnDropOnce() throws Exception {
+        int pruners = 4;
+        SegmentedLog<Integer> log = new SegmentedLog<>(16);
+        for (int i = 0; i < 10_000; i++) {
+            log.append(i);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(pruners);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger dropped = new AtomicInteger();
+
+        for (int p = 0; p < pruners; p++) {
+            pool.submit(() -> {
+                start.await();
+                for (int cutoff = 100; cutoff <= 9_000; cutoff += 100) {
+                    int limit = cutoff;
+                    log.dropWhile(v -> v < limit, v -> dropped.incrementAndGet());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(9_000, dropped.get());
+        assertEquals(1_000, log.size());
+    }
+}
@@ -0,0 +1,187 @@
+package com.company.notification.core;
+
+import com.company.notification.core.EventHistory.EventRecord;
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.HeartBeatEvent;
+import com.company.notification.event.Priority;
+import com.company.notification.event.TaskEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.company.notification.core.HistoryFixtures.record;
+import static org.junit.jupiter.api.Assertions.*;
+class TieredHistoryStoreTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private static List<String> names(List<EventRecord> records) {
+        return records.stream().map(r -> r.getEvent() instanceof TaskEvent t ? t.getTaskName() : "HB").toList();
+    }
+
+    private TieredHistoryStore open() throws Exception {
+        return TieredHistoryStore.open(dir, Duration.ofDays(1), Duration.ofDays(1));
+    }
+
+    @Test
+    void queriesShouldFanOutAcrossTiers() throws Exception {
+        try (TieredHistoryStore store = open()) {
+            for (int i = 0; i < 10; i++) {
+                store.append(record("T" + i, i % 2 == 0 ? "pub-A" : "pub-B", BASE.plusSeconds(i)));
+            }
+            store.append(new EventRecord(new HeartBeatEvent("pub-A", Priority.LOW), "pub-A", "Publisher", BASE.plusSeconds(3)));
+
+            assertEquals(3, store.moveToColdBefore(BASE.plusSeconds(3)));
+            assertEquals(1, store.getColdSegmentCount());
+
+            assertEquals(List.of("T0", "T1", "T2", "T3", "T4", "T5", "T6", "T7", "T8", "T9", "HB"),
+                    names(store.range(Instant.MIN, Instant.MAX)));
+            assertEquals(List.of("T2", "T3", "T4"), names(store.range(BASE.plusSeconds(2), BASE.plusSeconds(4)).subList(0, 3)));
+            assertEquals(1, store.rangeByType(EventTypes.HEARTBEAT, Instant.MIN, Instant.MAX).size());
+            assertEquals(List.of("T0", "T2", "T4", "T6", "T8", "HB"), names(store.rangeByPublisher("PUB-a", Instant.MIN, Instant.MAX)));
+        }
+    }
+
+    @Test
+    void segmentMetadataShouldSkipColdFilesThatCannotMatch() throws Exception {
+        try (TieredHistoryStore store = open()) {
+            for (int i = 0; i < 5; i++) {
+                store.append(record("T" + i, "pub-A", BASE.plusSeconds(i)));
+            }
+            store.moveToColdBefore(BASE.plusSeconds(10));
+            store.append(record("Hot", "pub-B", BASE.plusSeconds(20)));
+
+            // Corrupt the cold body: only queries that have to inflate the file can notice
+            try (Stream<Path> files = Files.list(dir)) {
+                Path segment = files.filter(p -> p.toString().endsWith(".seg")).findFirst().orElseThrow();
+                byte[] bytes = Files.readAllBytes(segment);
+                for (int i = bytes.length - 8; i < bytes.length; i++) {
+                    bytes[i] = 0;
+                }
+                Files.write(segment, bytes);
+            }
+
+            assertEquals(List.of("Hot"), names(store.range(BASE.plusSeconds(15), Instant.MAX)));
+            assertEquals(List.of("Hot"), names(store.rangeByPublisher("pub-B", Instant.MIN, Instant.MAX)));
+            assertTrue(store.rangeByType(EventTypes.HEARTBEAT, Instant.MIN, Instant.MAX).isEmpty());
+            assertThrows(UncheckedIOException.class, () -> store.range(BASE, BASE.plusSeconds(2)));
+        }
+    }
+
+    @Test
+    void closeShouldMoveHotTierToDiskAndReopenShouldContinueSequences() throws Exception {
+        long next;
+        try (TieredHistoryStore store = open()) {
+            for (int i = 0; i < 3; i++) {
+                store.append(record("T" + i, "pub-A", BASE.plusSeconds(i)));
+            }
+            next = store.scan(0, record -> true);
+        }
+
+        try (TieredHistoryStore store = open()) {
+            assertEquals(List.of("T0", "T1", "T2"), names(store.range(Instant.MIN, Instant.MAX)));
+            store.append(record("T3", "pub-A", BASE.plusSeconds(3)));
+            List<EventRecord> seen = new ArrayList<>();
+            store.scan(next, seen::add);
+            assertEquals(List.of("T3"), names(seen));
+        }
+    }
+
+    @Test
+    void reopenShouldQuarantineSegmentsWithUnreadableHeaders() throws Exception {
+        try (TieredHistoryStore store = open()) {
+            store.append(record("T0", "pub-A", BASE));
+            store.moveToColdBefore(BASE.plusSeconds(1));
+            store.append(record("T1", "pub-A", BASE.plusSeconds(1)));
+        }
+        Path first;
+        try (Stream<Path> files = Files.list(dir)) {
+            first = files.filter(p -> p.toString().endsWith(".seg")).sorted().findFirst().orElseThrow();
+        }
+        Files.write(first, new byte[]{1, 2, 3});
+
+        try (TieredHistoryStore store = open()) {
+            assertEquals(List.of("T1"), names(store.range(Instant.MIN, Instant.MAX)));
+            assertEquals(1, store.getColdSegmentCount());
+        }
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(first.resolveSibling(first.getFileName() + ".corrupt")));
+    }
+
+    @Test
+    void pruneShouldDropExpiredRecordsFromEveryTier() throws Exception {
+        try (TieredHistoryStore store = open()) {
+            for (int i = 0; i < 6; i++) {
+                store.append(record("T" + i, "pub-A", BASE.plusSeconds(i)));
+            }
+            store.moveToColdBefore(BASE.plusSeconds(4));
+            EventHistory history = new EventHistory(store);
+            assertEquals(6, history.getEventCount());
+
+            history.pruneBefore(BASE.plusSeconds(2));
+            assertEquals(List.of("T2", "T3", "T4", "T5"), names(store.range(Instant.MIN, Instant.MAX)));
+            history.pruneBefore(BASE.plusSeconds(5));
+
+            assertEquals(List.of("T5"), names(history.getAllEvents()));
+            assertEquals(1, history.getEventCount());
+            assertEquals(0, store.getColdSegmentCount());
+        }
+    }
+
+    @Test
+    void failedPruneShouldLeaveColdTierAndCountsUntouched() throws Exception {
+        try (TieredHistoryStore store = open()) {
+            for (int i = 0; i < 4; i++) {
+                store.append(record("T" + i, "pub-A", BASE.plusSeconds(i)));
+                if (i % 2 == 1) {
+                    store.moveToColdBefore(BASE.plusSeconds(i + 1));
+                }
+            }
+            EventHistory history = new EventHistory(store);
+            List<Path> segments;
+            try (Stream<Path> files = Files.list(dir)) {
+                segments = files.filter(p -> p.toString().endsWith(".seg")).sorted().toList();
+            }
+            assertEquals(2, segments.size());
+            byte[] bytes = Files.readAllBytes(segments.get(1));
+            for (int i = bytes.length - 8; i < bytes.length; i++) {
+                bytes[i] = 0;
+            }
+            Files.write(segments.get(1), bytes);
+
+            // The first file is fully expired, the second cannot be read: nothing may change
+            assertThrows(UncheckedIOException.class, () -> history.pruneBefore(BASE.plusSeconds(3)));
+            assertEquals(4, history.getEventCount());
+            assertEquals(2, store.getColdSegmentCount());
+            assertTrue(Files.exists(segments.get(0)));
+            assertEquals(List.of("T0", "T1"), names(store.range(Instant.MIN, BASE.plusSeconds(1))));
+        }
+    }
+
+    @Test
+    void backgroundAgingShouldMoveOldRecordsToColdFiles() throws Exception {
+        try (TieredHistoryStore store = TieredHistoryStore.open(dir, Duration.ofMinutes(1), Duration.ofMillis(20))) {
+            store.append(record("Old", "pub-A", Instant.now().minus(Duration.ofHours(2))));
+            store.append(record("New", "pub-A", Instant.now()));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (store.getColdSegmentCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, store.getColdSegmentCount());
+            assertEquals(List.of("Old", "New"), names(store.range(Instant.MIN, Instant.MAX)));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.company.notification.core;
+
+import com.company.notification.model.publisher.Publisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TimingWheelTest {
+
+    private TimingWheel wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.shutdown();
+        }
+    }
+
+    @Test
+    void constructorShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(Duration.ZERO, 64, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(Duration.ofMillis(1), 48, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(Duration.ofMillis(1), 64, 0));
+    }
+
+    @Test
+    void oneShotTaskShouldFireAfterItsDelay() throws Exception {
+        wheel = new TimingWheel(Duration.ofMillis(5), 64, 1);
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(fired::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, wheel.getScheduledCount());
+    }
+
+    @Test
+    void delaysBeyondTheLowerLevelsShouldCascade() throws Exception {
+        // Levels span 4, 16, 64 and 256 ticks of 1 ms; 300 ms overflows the top level
+        wheel = new TimingWheel(Duration.ofMillis(1), 4, 1);
+        List<Long> delays = List.of(3L, 20L, 100L, 300L);
+        CountDownLatch fired = new CountDownLatch(delays.size());
+        List<Long> early = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (long delay : delays) {
+            wheel.schedule(() -> {
+                if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay)) {
+                    synchronized (early) {
+                        early.add(delay);
+                    }
+                }
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(early.isEmpty(), "fired early: " + early);
+    }
+
+    @Test
+    void cancelledTaskShouldNotFire() throws Exception {
+        wheel = new TimingWheel(Duration.ofMillis(5), 64, 1);
+        AtomicInteger runs = new AtomicInteger();
+
+        TimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, wheel.getScheduledCount());
+    }
+
+    @Test
+    void periodicTaskShouldRepeatUntilCancelled() throws Exception {
+        wheel = new TimingWheel(Duration.ofMillis(5), 64, 1);
+        CountDownLatch threeRuns = new CountDownLatch(3);
+        AtomicInteger runs = new AtomicInteger();
+
+        TimingWheel.Timeout timeout = wheel.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            threeRuns.countDown();
+        }, 0, 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(threeRuns.await(2, TimeUnit.SECONDS));
+        timeout.cancel();
+        TimeUnit.MILLISECONDS.sleep(50);
+        int afterCancel = runs.get();
+        TimeUnit.MILLISECONDS.sleep(150);
+        assertEquals(afterCancel, runs.get());
+    }
+
+    @Test
+    void slowPeriodicTaskShouldNotOverlapItself() throws Exception {
+        wheel = new TimingWheel(Duration.ofMillis(5), 64, 4);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        TimingWheel.Timeout timeout = wheel.scheduleAtFixedRate(() -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(60);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrent.decrementAndGet();
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        timeout.cancel();
+        assertEquals(1, maxConcurrent.get());
+    }
+
+    @Test
+    void threadCountShouldNotGrowWithTheNumberOfSchedules() {
+        wheel = new TimingWheel(Duration.ofMillis(10), 64, 2);
+        EventBus eventBus = mock(EventBus.class);
+        when(eventBus.hasSubscribers(any())).thenReturn(true);
+        SchedulerManager manager = new SchedulerManager(eventBus, wheel);
+        int threadsBefore = Thread.activeCount();
+
+        for (int i = 0; i < 5000; i++) {
+            Publisher publisher = mock(Publisher.class);
+            when(publisher.getName()).thenReturn("Publisher-" + i);
+            when(publisher.getId()).thenReturn("pub-" + i);
+            manager.registerScheduler(publisher, 60);
+        }
+
+        // Same interval: schedules coalesce into at most one group per second of the period
+        assertTrue(wheel.getScheduledCount() <= 60, "wheel entries: " + wheel.getScheduledCount());
+        assertTrue(Thread.activeCount() <= threadsBefore + 2, "threads grew from " + threadsBefore + " to " + Thread.activeCount());
+        manager.shutdownAllSchedulers();
+        assertEquals(0, wheel.getScheduledCount());
+    }
+
+    @Test
+    void subSecondPeriodsShouldRecordBoundedLateness() throws Exception {
+        wheel = new TimingWheel(Duration.ofMillis(5), 64, 1);
+        CountDownLatch fiveRuns = new CountDownLatch(5);
+
+        TimingWheel.Timeout timeout = wheel.scheduleAtFixedRate(fiveRuns::countDown,
+                Duration.ZERO, Duration.ofMillis(100), TimingWheel.CatchUpPolicy.SKIP);
+
+        assertTrue(fiveRuns.await(3, TimeUnit.SECONDS));
+        timeout.cancel();
+        LatenessHistogram lateness = timeout.getLateness();
+        assertTrue(lateness.getCount() >= 5);
+        assertTrue(lateness.getPercentile(50).compareTo(Duration.ofMillis(50)) < 0, lateness.toString());
+        assertEquals(0, timeout.getMissedCount());
+    }
+
+    @Test
+    void durationScheduleShouldRejectInvalidArguments() {
+        wheel = new TimingWheel(Duration.ofMillis(5), 64, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> wheel.scheduleAtFixedRate(() -> { }, Duration.ZERO, Duration.ZERO, TimingWheel.CatchUpPolicy.SKIP));
+        assertThrows(IllegalArgumentException.class,
+                () -> wheel.scheduleAtFixedRate(() -> { }, Duration.ZERO, Duration.ofMillis(1), null));
+    }
+}
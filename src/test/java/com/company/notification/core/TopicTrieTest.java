@@ -0,0 +1,67 @@
+package com.company.notification.core;
+
+import com.company.notification.model.subscriber.Subscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TopicTrieTest {
+
+    private TopicTrie trie;
+    private Subscriber exact;
+    private Subscriber single;
+    private Subscriber multi;
+
+    @BeforeEach
+    void setup() {
+        trie = new TopicTrie();
+        exact = mock(Subscriber.class);
+        single = mock(Subscriber.class);
+        multi = mock(Subscriber.class);
+
+        trie.add("billing.eu.invoice", exact);
+        trie.add("billing.*.invoice", single);
+        trie.add("billing.#", multi);
+    }
+
+    @Test
+    void shouldMatchExactSingleAndMultiWildcards() {
+        assertEquals(Set.of(exact, single, multi), trie.match("billing.eu.invoice"));
+        assertEquals(Set.of(single, multi), trie.match("billing.us.invoice"));
+        assertEquals(Set.of(multi), trie.match("billing"));
+        assertEquals(Set.of(multi), trie.match("billing.eu.refund.partial"));
+        assertTrue(trie.match("shipping.eu.invoice").isEmpty());
+    }
+
+    @Test
+    void removeShouldStopMatchingAndPruneEmptyBranches() {
+        assertTrue(trie.remove("billing.*.invoice", single));
+        assertFalse(trie.remove("billing.*.invoice", single));
+
+        assertEquals(Set.of(exact, multi), trie.match("billing.eu.invoice"));
+
+        trie.remove("billing.eu.invoice", exact);
+        trie.remove("billing.#", multi);
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    void copyShouldNotSeeLaterChanges() {
+        TopicTrie copy = trie.copy();
+        trie.remove("billing.#", multi);
+
+        assertTrue(copy.match("billing").contains(multi));
+        assertFalse(trie.match("billing").contains(multi));
+    }
+
+    @Test
+    void invalidPatternsShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TopicTrie.validatePattern("billing.#.invoice"));
+        assertThrows(IllegalArgumentException.class, () -> TopicTrie.validatePattern("billing..invoice"));
+        assertThrows(IllegalArgumentException.class, () -> TopicTrie.validatePattern(" "));
+    }
+}
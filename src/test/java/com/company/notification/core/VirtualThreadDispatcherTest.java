@@ -0,0 +1,57 @@
+package com.company.notification.core;
+
+import com.company.notification.event.Event;
+import com.company.notification.model.publisher.Publisher;
+import com.company.notification.model.subscriber.Subscriber;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VirtualThreadDispatcherTest {
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void constructorShouldFailBeforeJava21() {
+        assertFalse(VirtualThreadDispatcher.isSupported());
+        assertThrows(IllegalStateException.class, VirtualThreadDispatcher::new);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void eachSubscriberShouldReceiveEventsThroughHandler() {
+        List<String> handled = new CopyOnWriteArrayList<>();
+        VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher(
+                (subscriber, event) -> handled.add(subscriber.getName() + "@" + Thread.currentThread().getName()));
+        EventBus eventBus = new EventBus(mock(EventHistory.class), dispatcher);
+
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.getName()).thenReturn("VtPublisher");
+        Subscriber first = mock(Subscriber.class);
+        when(first.getName()).thenReturn("First");
+        Subscriber second = mock(Subscriber.class);
+        when(second.getName()).thenReturn("Second");
+
+        eventBus.subscribe(first, publisher, e -> true);
+        eventBus.subscribe(second, publisher, e -> true);
+        eventBus.publishFromPublisher(publisher, mock(Event.class));
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (handled.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        // two subscribers plus the bus' built-in admin
+        assertEquals(3, handled.size());
+        assertTrue(handled.contains("First@EventSubscriber-First"));
+        assertTrue(handled.contains("Second@EventSubscriber-Second"));
+        assertEquals(3, dispatcher.getActiveSubscriberCount());
+
+        eventBus.shutdown();
+        assertEquals(0, dispatcher.getActiveSubscriberCount());
+    }
+}
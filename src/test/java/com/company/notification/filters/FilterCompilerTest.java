@@ -0,0 +1,96 @@
+package com.company.notification.filters;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.EventTypes;
+import com.company.notification.event.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FilterCompilerTest {
+
+    private Event eventWith(Priority priority) {
+        Event event = mock(Event.class);
+        when(event.getType()).thenReturn(EventTypes.TASK);
+        when(event.getPriority()).thenReturn(priority);
+        return event;
+    }
+
+    @Test
+    void combinatorsShouldEvaluateLogically() {
+        EventFilter high = new PriorityFilter(Priority.HIGH);
+        EventFilter low = new PriorityFilter(Priority.LOW);
+
+        assertTrue(high.or(low).shouldProcess(eventWith(Priority.LOW)));
+        assertFalse(high.and(low).shouldProcess(eventWith(Priority.HIGH)));
+        assertTrue(high.negate().shouldProcess(eventWith(Priority.MEDIUM)));
+    }
+
+    @Test
+    void compileShouldFlattenAndDeduplicateLeaves() {
+        EventFilter nested = new PriorityFilter(Priority.HIGH)
+                .or(new PriorityFilter(Priority.LOW).or(new PriorityFilter(Priority.HIGH)));
+
+        EventFilter compiled = FilterCompiler.compile(nested);
+
+        AdaptiveFilter adaptive = assertInstanceOf(AdaptiveFilter.class, compiled);
+        assertEquals(AdaptiveFilter.Mode.ANY_OF, adaptive.mode());
+        assertEquals(List.of(new PriorityFilter(Priority.HIGH), new PriorityFilter(Priority.LOW)), adaptive.children());
+        assertEquals(nested.staticMask(), compiled.staticMask());
+    }
+
+    @Test
+    void compileShouldRemoveDoubleNegationAndFoldAlwaysTrue() {
+        EventFilter leaf = new PriorityFilter(Priority.MEDIUM);
+
+        assertSame(leaf, FilterCompiler.compile(leaf.negate().negate()));
+        assertSame(leaf, FilterCompiler.compile(leaf.and(new AlwaysTrueFilter())));
+        assertInstanceOf(AlwaysTrueFilter.class, FilterCompiler.compile(leaf.or(new AlwaysTrueFilter())));
+    }
+
+    @Test
+    void compileShouldReturnUnknownFiltersUnchanged() {
+        EventFilter lambda = event -> true;
+        assertSame(lambda, FilterCompiler.compile(lambda));
+    }
+
+    @Test
+    void andShouldMoveMostSelectiveChildFirstAfterSampling() {
+        EventFilter mostlyPasses = new TimeWindowFilter(LocalTime.MIN, LocalTime.MAX);
+        EventFilter rarelyPasses = event -> event.getPriority() == Priority.HIGH;
+        AdaptiveFilter compiled = (AdaptiveFilter) FilterCompiler.compile(mostlyPasses.and(rarelyPasses));
+
+        Event low = eventWith(Priority.LOW);
+        when(low.getDateTime()).thenReturn(LocalDateTime.now());
+        int evaluations = AdaptiveFilter.SAMPLE_INTERVAL * AdaptiveFilter.SAMPLES_PER_REORDER;
+        for (int i = 0; i < evaluations; i++) {
+            assertFalse(compiled.shouldProcess(low));
+        }
+
+        assertSame(rarelyPasses, compiled.currentOrder().get(0));
+    }
+
+    @Test
+    void compiledFilterShouldMatchOriginalDecisions() {
+        EventFilter tree = new PriorityFilter(Priority.HIGH)
+                .or(new PriorityFilter(Priority.LOW).and(new PriorityFilter(Priority.MEDIUM).negate()));
+        EventFilter compiled = FilterCompiler.compile(tree);
+
+        for (Priority priority : Priority.values()) {
+            Event event = eventWith(priority);
+            assertEquals(tree.shouldProcess(event), compiled.shouldProcess(event), priority.name());
+        }
+    }
+
+    @Test
+    void combinatorsShouldRejectNullChildren() {
+        assertThrows(IllegalArgumentException.class, () -> new AndFilter(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new NotFilter(null));
+        assertThrows(IllegalArgumentException.class, () -> FilterCompiler.compile(null));
+    }
+}
@@ -1,6 +1,7 @@
 package com.company.notification.filters;
 
 import com.company.notification.event.Event;
+import com.company.notification.event.EventTypes;
 import com.company.notification.event.Priority;
 import org.junit.jupiter.api.Test;
 
@@ -36,4 +37,15 @@ class PriorityFilterTest {
         String result = filter.toString();
         assertTrue(result.contains("priority=MEDIUM"));
     }
+
+    @Test
+    void staticMaskShouldCoverOnlyMatchingPriorityForEveryType() {
+        int mask = new PriorityFilter(Priority.LOW).staticMask();
+
+        for (EventTypes type : EventTypes.values()) {
+            assertTrue(FilterMask.accepts(mask, FilterMask.bucketIndex(type, Priority.LOW)));
+            assertFalse(FilterMask.accepts(mask, FilterMask.bucketIndex(type, Priority.HIGH)));
+        }
+        assertEquals(FilterMask.NONE, new PriorityFilter(null).staticMask());
+    }
 }
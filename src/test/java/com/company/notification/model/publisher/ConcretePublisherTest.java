@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -51,6 +52,16 @@ class ConcretePublisherTest {
         assertThrows(IllegalArgumentException.class, () -> publisher.publish(mockEventBus, null));
     }
 
+    @Test
+    void publishBatch_shouldDelegateToEventBus() {
+        ConcretePublisher publisher = new ConcretePublisher("PublisherB");
+        List<Event> events = List.of(mockEvent);
+        publisher.publishBatch(mockEventBus, events);
+        verify(mockEventBus, times(1)).publishBatch(publisher, events);
+        assertThrows(IllegalArgumentException.class, () -> publisher.publishBatch(null, events));
+        assertThrows(IllegalArgumentException.class, () -> publisher.publishBatch(mockEventBus, null));
+    }
+
     @Test
     void publish_shouldDelegateToEventBus() {
         ConcretePublisher publisher = new ConcretePublisher("PublisherA");
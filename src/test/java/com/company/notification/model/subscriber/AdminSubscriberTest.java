@@ -8,8 +8,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
-import java.util.LinkedList;
-import java.util.Queue;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,7 +40,7 @@ class AdminSubscriberTest {
         queueField.setAccessible(true);
         Object queueObj = queueField.get(subscriber);
         assertNotNull(queueObj);
-        assertTrue(queueObj instanceof LinkedList);
+        assertTrue(queueObj instanceof BoundedEventQueue);
 
         // Check filter
         assertEquals(filter, subscriber.getFilter());
@@ -65,7 +63,7 @@ class AdminSubscriberTest {
 
         Field queueField = AdminSubscriber.class.getDeclaredField("queue");
         queueField.setAccessible(true);
-        Queue<Event> queue = (Queue<Event>) queueField.get(subscriber);
+        EventQueue queue = (EventQueue) queueField.get(subscriber);
 
         assertEquals(1, queue.size());
         assertEquals(sampleEvent, queue.peek());
@@ -80,7 +78,7 @@ class AdminSubscriberTest {
 
         Field queueField = AdminSubscriber.class.getDeclaredField("queue");
         queueField.setAccessible(true);
-        Queue<Event> queue = (Queue<Event>) queueField.get(subscriber);
+        EventQueue queue = (EventQueue) queueField.get(subscriber);
 
         assertTrue(queue.isEmpty());
     }
@@ -104,7 +102,7 @@ class AdminSubscriberTest {
         // Ensure queue is now empty
         Field queueField = AdminSubscriber.class.getDeclaredField("queue");
         queueField.setAccessible(true);
-        Queue<Event> queue = (Queue<Event>) queueField.get(subscriber);
+        EventQueue queue = (EventQueue) queueField.get(subscriber);
 
         assertTrue(queue.isEmpty());
 
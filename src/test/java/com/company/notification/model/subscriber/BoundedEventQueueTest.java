@@ -0,0 +1,110 @@
+package com.company.notification.model.subscriber;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.Priority;
+import com.company.notification.event.TaskEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedEventQueueTest {
+
+    private static Event event(String name, Priority priority) {
+        return new TaskEvent(name, "desc", "pub-001", priority);
+    }
+
+    @Test
+    void constructorShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedEventQueue(0, OverflowPolicy.REJECT));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedEventQueue(1, null));
+    }
+
+    @Test
+    void rejectShouldRefuseNewEventsWhenFull() {
+        BoundedEventQueue queue = new BoundedEventQueue(2, OverflowPolicy.REJECT);
+        Event first = event("A", Priority.LOW);
+
+        assertTrue(queue.offer(first));
+        assertTrue(queue.offer(event("B", Priority.LOW)));
+        assertFalse(queue.offer(event("C", Priority.HIGH)));
+
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.rejectedCount());
+        assertEquals(0, queue.droppedCount());
+        assertEquals(first, queue.poll());
+    }
+
+    @Test
+    void dropOldestShouldEvictByArrival() {
+        BoundedEventQueue queue = new BoundedEventQueue(2, OverflowPolicy.DROP_OLDEST);
+        Event oldest = event("A", Priority.HIGH);
+        Event middle = event("B", Priority.LOW);
+        Event newest = event("C", Priority.MEDIUM);
+
+        queue.offer(oldest);
+        queue.offer(middle);
+        assertTrue(queue.offer(newest));
+
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.droppedCount());
+        assertEquals(middle, queue.poll());
+        assertEquals(newest, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void dropLowestPriorityShouldEvictLowestOrRefuseIncoming() {
+        BoundedEventQueue queue = new BoundedEventQueue(2, OverflowPolicy.DROP_LOWEST_PRIORITY);
+        Event low = event("Low", Priority.LOW);
+        Event medium = event("Medium", Priority.MEDIUM);
+        Event high = event("High", Priority.HIGH);
+
+        queue.offer(low);
+        queue.offer(medium);
+        assertTrue(queue.offer(high));
+        assertFalse(queue.offer(event("Another low", Priority.LOW)));
+
+        assertEquals(2, queue.droppedCount());
+        assertEquals(medium, queue.poll());
+        assertEquals(high, queue.poll());
+    }
+
+    @Test
+    void blockShouldWaitUntilConsumerMakesRoom() throws Exception {
+        BoundedEventQueue queue = new BoundedEventQueue(1, OverflowPolicy.BLOCK);
+        queue.offer(event("A", Priority.LOW));
+
+        AtomicBoolean offered = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            offered.set(queue.offer(event("B", Priority.LOW)));
+            done.countDown();
+        });
+        producer.start();
+
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+        queue.poll();
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertTrue(offered.get());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void blockShouldCountInterruptedProducerAsRejected() throws Exception {
+        BoundedEventQueue queue = new BoundedEventQueue(1, OverflowPolicy.BLOCK);
+        queue.offer(event("A", Priority.LOW));
+
+        Thread producer = new Thread(() -> queue.offer(event("B", Priority.LOW)));
+        producer.start();
+        producer.interrupt();
+        producer.join(2000);
+
+        assertFalse(producer.isAlive());
+        assertEquals(1, queue.rejectedCount());
+        assertEquals(1, queue.size());
+    }
+}
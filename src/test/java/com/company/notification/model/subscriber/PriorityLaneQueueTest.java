@@ -0,0 +1,160 @@
+package com.company.notification.model.subscriber;
+
+import com.company.notification.event.Event;
+import com.company.notification.event.Priority;
+import com.company.notification.event.TaskEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityLaneQueueTest {
+
+    private static Event event(String name, Priority priority) {
+        return new TaskEvent(name, "desc", "pub-001", priority);
+    }
+
+    @Test
+    void pollShouldDrainHighThenMediumThenLowInArrivalOrder() {
+        PriorityLaneQueue queue = new PriorityLaneQueue(10, OverflowPolicy.REJECT);
+        Event low = event("Low", Priority.LOW);
+        Event medium = event("Medium", Priority.MEDIUM);
+        Event high1 = event("High 1", Priority.HIGH);
+        Event high2 = event("High 2", Priority.HIGH);
+
+        queue.offer(low);
+        queue.offer(high1);
+        queue.offer(medium);
+        queue.offer(high2);
+
+        assertEquals(high1, queue.peek());
+        assertEquals(high1, queue.poll());
+        assertEquals(high2, queue.poll());
+        assertEquals(medium, queue.poll());
+        assertEquals(low, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void rejectShouldCountRefusedEvents() {
+        PriorityLaneQueue queue = new PriorityLaneQueue(1, OverflowPolicy.REJECT);
+
+        assertTrue(queue.offer(event("A", Priority.LOW)));
+        assertFalse(queue.offer(event("B", Priority.HIGH)));
+
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.rejectedCount());
+    }
+
+    @Test
+    void dropOldestShouldEvictEarliestEventAcrossLanes() {
+        PriorityLaneQueue queue = new PriorityLaneQueue(2, OverflowPolicy.DROP_OLDEST);
+        Event oldest = event("Oldest", Priority.HIGH);
+        Event middle = event("Middle", Priority.LOW);
+        Event newest = event("Newest", Priority.MEDIUM);
+
+        queue.offer(oldest);
+        queue.offer(middle);
+        assertTrue(queue.offer(newest));
+
+        assertEquals(1, queue.droppedCount());
+        assertEquals(newest, queue.poll());
+        assertEquals(middle, queue.poll());
+    }
+
+    @Test
+    void dropLowestPriorityShouldEvictLowLaneOrDropIncoming() {
+        PriorityLaneQueue queue = new PriorityLaneQueue(2, OverflowPolicy.DROP_LOWEST_PRIORITY);
+        Event low = event("Low", Priority.LOW);
+        Event medium = event("Medium", Priority.MEDIUM);
+        Event high = event("High", Priority.HIGH);
+
+        queue.offer(low);
+        queue.offer(medium);
+        assertTrue(queue.offer(high));
+        assertFalse(queue.offer(event("Another medium", Priority.MEDIUM)));
+
+        assertEquals(2, queue.droppedCount());
+        assertEquals(high, queue.poll());
+        assertEquals(medium, queue.poll());
+    }
+
+    @Test
+    void blockShouldWaitUntilPollFreesASlot() throws Exception {
+        PriorityLaneQueue queue = new PriorityLaneQueue(1, OverflowPolicy.BLOCK);
+        Event first = event("First", Priority.LOW);
+        Event second = event("Second", Priority.HIGH);
+        queue.offer(first);
+
+        CountDownLatch offered = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            queue.offer(second);
+            offered.countDown();
+        });
+        producer.start();
+
+        assertFalse(offered.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(Thread.State.WAITING, producer.getState());
+        assertEquals(first, queue.poll());
+        assertTrue(offered.await(1, TimeUnit.SECONDS));
+        assertEquals(second, queue.poll());
+    }
+
+    @Test
+    void blockShouldRejectWhenInterrupted() throws Exception {
+        PriorityLaneQueue queue = new PriorityLaneQueue(1, OverflowPolicy.BLOCK);
+        queue.offer(event("First", Priority.LOW));
+
+        Thread producer = new Thread(() -> assertFalse(queue.offer(event("Second", Priority.LOW))));
+        producer.start();
+        producer.interrupt();
+        producer.join(1000);
+
+        assertFalse(producer.isAlive());
+        assertEquals(1, queue.rejectedCount());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void concurrentProducersShouldNotLoseEvents() throws Exception {
+        int producers = 4;
+        int perProducer = 2_000;
+        PriorityLaneQueue queue = new PriorityLaneQueue(producers * perProducer, OverflowPolicy.REJECT);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        Priority[] priorities = Priority.values();
+
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    queue.offer(event(producer + "-" + i, priorities[i % priorities.length]));
+                }
+                return null;
+            });
+        }
+
+        Set<Event> received = new HashSet<>();
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            Event event = queue.poll();
+            if (event != null) {
+                received.add(event);
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(producers * perProducer, received.size());
+        assertEquals(0, queue.rejectedCount());
+        assertTrue(queue.isEmpty());
+    }
+}
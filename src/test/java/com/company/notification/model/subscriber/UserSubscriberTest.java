@@ -8,8 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
-import java.util.PriorityQueue;
-import java.util.Queue;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,7 +36,7 @@ class UserSubscriberTest {
         queueField.setAccessible(true);
         Object queueObj = queueField.get(subscriber);
         assertNotNull(queueObj);
-        assertTrue(queueObj instanceof PriorityQueue);
+        assertTrue(queueObj instanceof PriorityLaneQueue);
 
         // Check filter
         assertEquals(filter, subscriber.getFilter());
@@ -60,7 +59,7 @@ class UserSubscriberTest {
 
         Field queueField = UserSubscriber.class.getDeclaredField("queue");
         queueField.setAccessible(true);
-        Queue<Event> queue = (Queue<Event>) queueField.get(subscriber);
+        EventQueue queue = (EventQueue) queueField.get(subscriber);
 
         assertEquals(1, queue.size());
         assertEquals(sampleEvent, queue.peek());
@@ -75,11 +74,42 @@ class UserSubscriberTest {
 
         Field queueField = UserSubscriber.class.getDeclaredField("queue");
         queueField.setAccessible(true);
-        Queue<Event> queue = (Queue<Event>) queueField.get(subscriber);
+        EventQueue queue = (EventQueue) queueField.get(subscriber);
 
         assertTrue(queue.isEmpty());
     }
 
+    @Test
+    void enqueueAllShouldAddOnlyAcceptedEvents() throws Exception {
+        TaskEvent lowEvent = new TaskEvent("Cleanup", "Remove temp files", "pub-001", Priority.LOW);
+        EventFilter filter = event -> event.getPriority() == Priority.HIGH;
+        UserSubscriber subscriber = new UserSubscriber("BatchReceiver", filter);
+
+        subscriber.enqueueAll(List.of(sampleEvent, lowEvent));
+
+        Field queueField = UserSubscriber.class.getDeclaredField("queue");
+        queueField.setAccessible(true);
+        EventQueue queue = (EventQueue) queueField.get(subscriber);
+
+        assertEquals(1, queue.size());
+        assertEquals(sampleEvent, queue.peek());
+    }
+
+    @Test
+    void boundedQueueShouldExposeOverflowMetrics() {
+        UserSubscriber subscriber = new UserSubscriber("Bounded", event -> true, 2, OverflowPolicy.REJECT);
+
+        subscriber.enqueue(sampleEvent);
+        subscriber.enqueue(sampleEvent);
+        subscriber.enqueue(sampleEvent);
+
+        assertEquals(2, subscriber.getQueueSize());
+        assertEquals(2, subscriber.getQueueCapacity());
+        assertEquals(OverflowPolicy.REJECT, subscriber.getOverflowPolicy());
+        assertEquals(1, subscriber.getRejectedEventCount());
+        assertEquals(0, subscriber.getDroppedEventCount());
+    }
+
     @Test
     void processQueueShouldHandleEmptyQueueGracefully() {
         EventFilter filter = event -> true;
@@ -110,14 +140,14 @@ class UserSubscriberTest {
         // Step 2: Check queue has 1 item before processing
         Field queueField = UserSubscriber.class.getDeclaredField("queue");
         queueField.setAccessible(true);
-        Queue<Event> queueBefore = (Queue<Event>) queueField.get(subscriber);
+        EventQueue queueBefore = (EventQueue) queueField.get(subscriber);
         assertEquals(1, queueBefore.size(), "Queue should contain 1 event before processing");
 
         // Step 3: Process the queue
         subscriber.processQueue();  // This should print and clear the queue
 
         // Step 4: Check queue is empty after processing
-        Queue<Event> queueAfter = (Queue<Event>) queueField.get(subscriber);
+        EventQueue queueAfter = (EventQueue) queueField.get(subscriber);
         assertTrue(queueAfter.isEmpty(), "Queue should be empty after processing");
 
         // Step 5: Process again to confirm graceful handling of empty queue